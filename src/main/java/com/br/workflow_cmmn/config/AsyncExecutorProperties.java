@@ -0,0 +1,34 @@
+package com.br.workflow_cmmn.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.async-executor")
+public class AsyncExecutorProperties {
+    private int corePoolSize = 8;
+    private int maxPoolSize = 16;
+    /** Jobs waiting for a pool thread; acquisition pauses while the queue is full. */
+    private int queueSize = 256;
+    private Duration keepAlive = Duration.ofSeconds(5);
+    /**
+     * Run jobs on virtual threads instead of the pool (JDK 21+, falls back to the pool on older
+     * JDKs). maxPoolSize then caps concurrently running jobs and queueSize is unused.
+     */
+    private boolean virtualThreads = false;
+
+    /** Async jobs locked per acquisition cycle. */
+    private int maxAsyncJobsDuePerAcquisition = 8;
+    /** How long an acquired async job stays locked to this node before others may retry it. */
+    private Duration asyncJobLockTime = Duration.ofMinutes(5);
+    /** Pause between acquisition cycles when the last one found fewer jobs than the batch size. */
+    private Duration asyncJobAcquireWaitTime = Duration.ofSeconds(10);
+    /** Pause before acquiring again when the executor rejected jobs because its queue was full. */
+    private Duration queueFullWaitTime = Duration.ofSeconds(1);
+
+    private int maxTimerJobsPerAcquisition = 8;
+    private Duration timerLockTime = Duration.ofMinutes(5);
+    private Duration timerJobAcquireWaitTime = Duration.ofSeconds(10);
+}
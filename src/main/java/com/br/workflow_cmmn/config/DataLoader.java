@@ -35,7 +35,7 @@ public class DataLoader implements CommandLineRunner {
                 workflow.setCreatedBy(String.valueOf(i + 1));
                 workflow.setStatus("ACTIVE");
                 workflow.setCreatedAt(LocalDateTime.now().minusDays(i));
-                workflow.setWorkflowDefinition("<?xml version=\"1.0\" encoding=\"UTF-8\"?><definitions xmlns=\"http://www.omg.org/spec/CMMN/20151109/MODEL\"><case id=\"workflow" + (i+1) + "\" name=\"" + workflows[i] + "\"><casePlanModel><humanTask id=\"task1\" name=\"Review Task\"/></casePlanModel></case></definitions>");
+                workflow.setWorkflowDefinition("<?xml version=\"1.0\" encoding=\"UTF-8\"?><definitions xmlns=\"http://www.omg.org/spec/CMMN/20151109/MODEL\" targetNamespace=\"http://flowable.org/cmmn\"><case id=\"workflow" + (i+1) + "\" name=\"" + workflows[i] + "\"><casePlanModel id=\"planModel" + (i+1) + "\"><humanTask id=\"task1\" name=\"Review Task\"/></casePlanModel></case></definitions>");
                 workflowRepository.save(workflow);
             }
         }
@@ -1,26 +1,76 @@
 package com.br.workflow_cmmn.config;
 
+import com.br.workflow_cmmn.listener.DocumentReferenceListener;
 import com.br.workflow_cmmn.listener.WorkflowEventListener;
+import com.br.workflow_cmmn.service.AsyncJobExecutorPool;
+import com.br.workflow_cmmn.service.DocumentStore;
+import org.flowable.cmmn.api.listener.CaseInstanceLifecycleListener;
+import org.flowable.cmmn.api.runtime.CaseInstanceState;
 import org.flowable.cmmn.spring.SpringCmmnEngineConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.AsyncJobExecutorConfiguration;
+import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.flowable.spring.boot.EngineConfigurationConfigurer;
+import org.flowable.spring.job.service.SpringAsyncTaskExecutor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
+@EnableConfigurationProperties(AsyncExecutorProperties.class)
 public class FlowableConfig {
 
     @Bean
-    public EngineConfigurationConfigurer<SpringCmmnEngineConfiguration> cmmnEngineConfigurer(WorkflowEventListener eventListener) {
+    public EngineConfigurationConfigurer<SpringCmmnEngineConfiguration> cmmnEngineConfigurer(WorkflowEventListener eventListener,
+                                                                                              AsyncExecutorProperties asyncProperties,
+                                                                                              AsyncJobExecutorPool jobExecutorPool,
+                                                                                              DocumentStore documentStore) {
         return engineConfiguration -> {
+            engineConfiguration.setAsyncExecutor(asyncExecutor(asyncProperties, jobExecutorPool));
             engineConfiguration.setAsyncExecutorActivate(true);
-            engineConfiguration.setDatabaseSchemaUpdate("drop-create");
-            engineConfiguration.setJdbcMaxActiveConnections(20);
-            engineConfiguration.setJdbcMaxIdleConnections(10);
+            // The engine runs on the application's DataSource (one Hikari pool shared with JPA,
+            // sized by spring.datasource.hikari.*); its own jdbcMax* pool settings never apply
             engineConfiguration.setEventListeners(Collections.singletonList(eventListener));
+            engineConfiguration.setCaseInstanceLifecycleListeners(documentReferenceListeners(documentStore));
 //            engineConfiguration.setXmlValidation(false);
             engineConfiguration.setEnableSafeCmmnXml(false);
         };
     }
+
+    /**
+     * Ending a case releases its document references in the same transaction; keyed by the
+     * state that triggers the listener.
+     */
+    private static Map<String, List<CaseInstanceLifecycleListener>> documentReferenceListeners(DocumentStore documentStore) {
+        Map<String, List<CaseInstanceLifecycleListener>> listeners = new HashMap<>();
+        for (String state : List.of(CaseInstanceState.COMPLETED, CaseInstanceState.TERMINATED)) {
+            listeners.computeIfAbsent(state, key -> new ArrayList<>()).add(new DocumentReferenceListener(state, documentStore));
+        }
+        return listeners;
+    }
+
+    /**
+     * Async executor tuned by app.async-executor.*; jobs run on {@link AsyncJobExecutorPool},
+     * which Spring shuts down after the engine.
+     */
+    private static DefaultAsyncJobExecutor asyncExecutor(AsyncExecutorProperties properties,
+                                                         AsyncJobExecutorPool jobExecutorPool) {
+        AsyncJobExecutorConfiguration configuration = new AsyncJobExecutorConfiguration();
+        configuration.setMaxAsyncJobsDuePerAcquisition(properties.getMaxAsyncJobsDuePerAcquisition());
+        configuration.setAsyncJobLockTime(properties.getAsyncJobLockTime());
+        configuration.setDefaultAsyncJobAcquireWaitTime(properties.getAsyncJobAcquireWaitTime());
+        configuration.setDefaultQueueSizeFullWaitTime(properties.getQueueFullWaitTime());
+        configuration.setMaxTimerJobsPerAcquisition(properties.getMaxTimerJobsPerAcquisition());
+        configuration.setTimerLockTime(properties.getTimerLockTime());
+        configuration.setDefaultTimerJobAcquireWaitTime(properties.getTimerJobAcquireWaitTime());
+
+        DefaultAsyncJobExecutor asyncExecutor = new DefaultAsyncJobExecutor(configuration);
+        asyncExecutor.setTaskExecutor(new SpringAsyncTaskExecutor(jobExecutorPool.getExecutor()));
+        return asyncExecutor;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.br.workflow_cmmn.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.br.workflow_cmmn.service.AsyncJobExecutorPool;
+import com.br.workflow_cmmn.service.CmmnEventBus;
+import com.br.workflow_cmmn.service.ContentAddressedDocumentStore;
+import com.br.workflow_cmmn.service.NotificationStream;
+import com.br.workflow_cmmn.service.NotificationWriter;
+import com.br.workflow_cmmn.service.UserDirectory;
+import com.br.workflow_cmmn.service.WorkflowStartTimer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exposes the internal counters of the app's own components (event bus, user directory,
+ * document store, notification pipeline, start timer, async job executor) as Micrometer meters.
+ * Connection pool meters (hikaricp.connections.*) come from Spring Boot; only leak reports are
+ * added here.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder cmmnEventBusMetrics(CmmnEventBus eventBus) {
+        return registry -> {
+            for (CmmnEventBus.Stats initial : eventBus.getStats()) {
+                String subscriber = initial.subscriber();
+                FunctionCounter.builder("cmmn.events.delivered", eventBus, bus -> stat(bus, subscriber).delivered())
+                    .tag("subscriber", subscriber).register(registry);
+                FunctionCounter.builder("cmmn.events.dropped", eventBus, bus -> stat(bus, subscriber).dropped())
+                    .tag("subscriber", subscriber).register(registry);
+                FunctionCounter.builder("cmmn.events.delayed", eventBus, bus -> stat(bus, subscriber).delayed())
+                    .tag("subscriber", subscriber).register(registry);
+                FunctionCounter.builder("cmmn.events.failed", eventBus, bus -> stat(bus, subscriber).failed())
+                    .tag("subscriber", subscriber).register(registry);
+                Gauge.builder("cmmn.events.backlog", eventBus, bus -> stat(bus, subscriber).backlog())
+                    .tag("subscriber", subscriber).register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder userDirectoryMetrics(UserDirectory userDirectory) {
+        return registry -> {
+            Gauge.builder("users.directory.size", userDirectory, directory -> directory.getStats().size())
+                .register(registry);
+            FunctionCounter.builder("users.directory.hits", userDirectory, directory -> directory.getStats().hits())
+                .register(registry);
+            FunctionCounter.builder("users.directory.misses", userDirectory, directory -> directory.getStats().misses())
+                .register(registry);
+            FunctionCounter.builder("users.directory.refresh.failures", userDirectory,
+                    directory -> directory.getStats().refreshFailures())
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder documentStoreMetrics(ContentAddressedDocumentStore documentStore) {
+        return registry -> {
+            FunctionCounter.builder("documents.deduplicated.writes", documentStore,
+                    ContentAddressedDocumentStore::getDeduplicatedWrites)
+                .register(registry);
+            FunctionCounter.builder("documents.deduplicated.bytes", documentStore,
+                    ContentAddressedDocumentStore::getBytesSaved)
+                .baseUnit("bytes")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder workflowQueueMetrics(NotificationWriter notificationWriter, NotificationStream notificationStream,
+                                            WorkflowStartTimer workflowStartTimer) {
+        return registry -> {
+            Gauge.builder("notifications.queued", notificationWriter, NotificationWriter::getQueuedCount)
+                .register(registry);
+            Gauge.builder("notifications.stream.users", notificationStream, NotificationStream::getConnectedUsers)
+                .register(registry);
+            Gauge.builder("workflow.starts.queued", workflowStartTimer, WorkflowStartTimer::getQueuedCount)
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder asyncJobExecutorMetrics(AsyncJobExecutorPool jobExecutorPool) {
+        return registry -> {
+            Gauge.builder("flowable.async.jobs.queued", jobExecutorPool, AsyncJobExecutorPool::getQueuedCount)
+                .register(registry);
+            Gauge.builder("flowable.async.jobs.active", jobExecutorPool, AsyncJobExecutorPool::getActiveCount)
+                .register(registry);
+        };
+    }
+
+    /**
+     * Counts Hikari leak reports (connections held longer than leak-detection-threshold).
+     * Hikari only logs them, so the counter listens on its leak task logger.
+     */
+    @Bean
+    public MeterBinder connectionLeakMetrics() {
+        return registry -> {
+            Counter leaks = Counter.builder("hikaricp.connections.leaks")
+                .description("Connections held longer than the leak detection threshold")
+                .register(registry);
+            Logger leakLogger = (Logger) LoggerFactory.getLogger("com.zaxxer.hikari.pool.ProxyLeakTask");
+            AppenderBase<ILoggingEvent> counter = new AppenderBase<>() {
+                @Override
+                protected void append(ILoggingEvent event) {
+                    if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+                        leaks.increment();
+                    }
+                }
+            };
+            counter.setName("connection-leak-counter");
+            counter.setContext(leakLogger.getLoggerContext());
+            counter.start();
+            leakLogger.addAppender(counter);
+        };
+    }
+
+    private static CmmnEventBus.Stats stat(CmmnEventBus eventBus, String subscriber) {
+        return eventBus.getStats().stream()
+            .filter(stats -> stats.subscriber().equals(subscriber))
+            .findFirst()
+            .orElseThrow();
+    }
+}
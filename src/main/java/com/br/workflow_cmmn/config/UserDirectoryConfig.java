@@ -0,0 +1,35 @@
+package com.br.workflow_cmmn.config;
+
+import com.br.workflow_cmmn.repository.DirectoryUserRepository;
+import com.br.workflow_cmmn.service.FileUserDirectorySource;
+import com.br.workflow_cmmn.service.JpaUserDirectorySource;
+import com.br.workflow_cmmn.service.RemoteUserDirectorySource;
+import com.br.workflow_cmmn.service.UserDirectorySource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+
+@Configuration
+@EnableConfigurationProperties(UserDirectoryProperties.class)
+public class UserDirectoryConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.users.source", havingValue = "remote", matchIfMissing = true)
+    public UserDirectorySource remoteUserDirectorySource(UserDirectoryProperties properties) {
+        return new RemoteUserDirectorySource(properties.getRemoteBaseUrl(), properties.getRemoteTimeout());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.users.source", havingValue = "file")
+    public UserDirectorySource fileUserDirectorySource(UserDirectoryProperties properties, ResourceLoader resourceLoader) {
+        return new FileUserDirectorySource(resourceLoader.getResource(properties.getFile()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.users.source", havingValue = "jpa")
+    public UserDirectorySource jpaUserDirectorySource(DirectoryUserRepository directoryUserRepository) {
+        return new JpaUserDirectorySource(directoryUserRepository);
+    }
+}
@@ -0,0 +1,19 @@
+package com.br.workflow_cmmn.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.users")
+public class UserDirectoryProperties {
+    /** Where users are loaded from: remote, file or jpa. */
+    private String source = "remote";
+    /** How long a loaded snapshot is served before the background refresh replaces it. */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+    private String remoteBaseUrl = "https://jsonplaceholder.typicode.com";
+    private Duration remoteTimeout = Duration.ofSeconds(5);
+    /** JSON array of users, used when source=file. */
+    private String file = "classpath:users.json";
+}
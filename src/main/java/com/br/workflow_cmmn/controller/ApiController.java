@@ -1,10 +1,25 @@
 package com.br.workflow_cmmn.controller;
 
+import com.br.workflow_cmmn.model.CaseStatus;
+import com.br.workflow_cmmn.service.BulkCaseStartService;
+import com.br.workflow_cmmn.service.BulkTaskService;
+import com.br.workflow_cmmn.service.CmmnEventBus;
 import com.br.workflow_cmmn.service.FlowableCmmnService;
+import com.br.workflow_cmmn.service.UserDirectory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -13,11 +28,74 @@ import java.util.Map;
 public class ApiController {
 
     private final FlowableCmmnService flowableCmmnService;
+    private final UserDirectory userDirectory;
+    private final CmmnEventBus cmmnEventBus;
+    private final BulkCaseStartService bulkCaseStartService;
+    private final BulkTaskService bulkTaskService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Status of one case. {@code variables} selects the variables to return (default: the
+     * status variables, "*" for all).
+     */
     @GetMapping("/workflow/{caseId}/status")
-    public ResponseEntity<Map<String, Object>> getWorkflowStatus(@PathVariable String caseId) {
-        Map<String, Object> status = flowableCmmnService.getWorkflowStatus(caseId);
-        return ResponseEntity.ok(status);
+    public ResponseEntity<CaseStatus> getWorkflowStatus(@PathVariable String caseId,
+                                                        @RequestParam(required = false) List<String> variables) {
+        return ResponseEntity.ok(flowableCmmnService.getWorkflowStatus(caseId, variables));
+    }
+
+    @PostMapping("/workflow/status:batch")
+    public ResponseEntity<List<CaseStatus>> getWorkflowStatuses(@RequestBody StatusBatchRequest request) {
+        if (request.caseIds() == null || request.caseIds().isEmpty()) {
+            throw new IllegalArgumentException("No case ids given");
+        }
+        return ResponseEntity.ok(flowableCmmnService.getWorkflowStatuses(request.caseIds(), request.variables()));
+    }
+
+    /**
+     * Starts one case per NDJSON line or CSV row. Results are streamed back as NDJSON, one line
+     * per input line as its batch commits, followed by a summary line.
+     */
+    @PostMapping(value = "/workflow/bulk-start", consumes = {"application/x-ndjson", "text/csv"},
+                 produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> bulkStart(HttpServletRequest request,
+                                                           @RequestParam(required = false) Integer batchSize) {
+        BulkCaseStartService.Format format = MediaType.parseMediaType(request.getContentType())
+            .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+            ? BulkCaseStartService.Format.CSV : BulkCaseStartService.Format.NDJSON;
+
+        StreamingResponseBody body = out -> {
+            try {
+                BulkCaseStartService.Summary summary = bulkCaseStartService.startAll(
+                    new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8), format, batchSize,
+                    result -> writeLine(out, result));
+                writeLine(out, Map.of("summary", summary));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                writeLine(out, Map.of("error", e.getMessage()));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
+    /**
+     * Completes many review tasks of one reviewer with the same decision and message.
+     */
+    @PostMapping("/tasks/review/bulk")
+    public ResponseEntity<BulkTaskService.BulkResult> bulkReview(@RequestBody BulkReviewRequest request) {
+        if (!"APPROVED".equals(request.decision()) && !"REJECTED".equals(request.decision())) {
+            throw new IllegalArgumentException("Decision must be APPROVED or REJECTED");
+        }
+        return ResponseEntity.ok(bulkTaskService.completeReviews(request.reviewerId(), request.taskIds(),
+            "APPROVED".equals(request.decision()), request.message()));
+    }
+
+    /**
+     * Hands all open tasks of a user to another user (vacation handover).
+     */
+    @PostMapping("/user/{userId}/tasks/reassign")
+    public ResponseEntity<BulkTaskService.BulkResult> reassignTasks(@PathVariable String userId,
+                                                                   @RequestParam String to) {
+        return ResponseEntity.ok(bulkTaskService.reassignOpenTasks(userId, to));
     }
 
     @GetMapping("/user/{userId}/tasks")
@@ -25,9 +103,72 @@ public class ApiController {
         return ResponseEntity.ok(flowableCmmnService.getTasksForUser(userId));
     }
 
+    @GetMapping("/user/{userId}/tasks/page")
+    public ResponseEntity<?> getUserTasksPage(@PathVariable String userId,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "25") int size) {
+        return ResponseEntity.ok(flowableCmmnService.getTasksForUserPage(userId, cursor, size));
+    }
+
+    @GetMapping("/tasks")
+    public ResponseEntity<?> getActiveTasks(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "25") int size) {
+        return ResponseEntity.ok(flowableCmmnService.getActiveTasksPage(cursor, size));
+    }
+
+    @GetMapping("/cases")
+    public ResponseEntity<?> getCaseInstances(@RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "25") int size) {
+        return ResponseEntity.ok(flowableCmmnService.getCaseInstancesPage(cursor, size));
+    }
+
+    @GetMapping("/stats/counts")
+    public ResponseEntity<Map<String, Long>> getCounts() {
+        return ResponseEntity.ok(Map.of(
+            "activeTasks", flowableCmmnService.countActiveTasks(),
+            "caseInstances", flowableCmmnService.countCaseInstances()));
+    }
+
+    @GetMapping("/users/directory/stats")
+    public ResponseEntity<UserDirectory.Stats> getUserDirectoryStats() {
+        return ResponseEntity.ok(userDirectory.getStats());
+    }
+
+    @PostMapping("/users/directory/refresh")
+    public ResponseEntity<UserDirectory.Stats> refreshUserDirectory() {
+        userDirectory.refresh();
+        return ResponseEntity.ok(userDirectory.getStats());
+    }
+
+    @GetMapping("/events/stats")
+    public ResponseEntity<List<CmmnEventBus.Stats>> getEventBusStats() {
+        return ResponseEntity.ok(cmmnEventBus.getStats());
+    }
+
     @PostMapping("/workflow/{caseId}/terminate")
     public ResponseEntity<String> terminateWorkflow(@PathVariable String caseId) {
         flowableCmmnService.terminateCase(caseId);
         return ResponseEntity.ok("Workflow terminated");
     }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record StatusBatchRequest(List<String> caseIds, List<String> variables) {
+    }
+
+    public record BulkReviewRequest(String reviewerId, List<String> taskIds, String decision, String message) {
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
 }
\ No newline at end of file
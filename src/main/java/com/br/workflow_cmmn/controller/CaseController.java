@@ -1,20 +1,21 @@
 package com.br.workflow_cmmn.controller;
 
 import com.br.workflow_cmmn.model.User;
+import com.br.workflow_cmmn.service.BulkTaskService;
+import com.br.workflow_cmmn.service.DashboardService;
+import com.br.workflow_cmmn.service.DocumentStore;
 import com.br.workflow_cmmn.service.UserService;
 import com.br.workflow_cmmn.service.FlowableCmmnService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Controller
@@ -23,6 +24,9 @@ public class CaseController {
 
     private final UserService userService;
     private final FlowableCmmnService flowableCmmnService;
+    private final DashboardService dashboardService;
+    private final DocumentStore documentStore;
+    private final BulkTaskService bulkTaskService;
 
     @GetMapping("/")
     public String index() {
@@ -32,8 +36,7 @@ public class CaseController {
     @GetMapping("/login")
     public String login(Model model) {
         try {
-            List<User> users = userService.getAllUsers().collectList().block();
-            model.addAttribute("users", users != null ? users : Collections.emptyList());
+            model.addAttribute("users", userService.findAll());
         } catch (Exception e) {
             log.error("Failed to fetch users", e);
             model.addAttribute("users", Collections.emptyList());
@@ -44,7 +47,7 @@ public class CaseController {
     @PostMapping("/login")
     public String doLogin(@RequestParam String userId) {
         try {
-            User user = userService.getUserById(userId).block();
+            User user = userService.findById(userId);
             if (user == null) {
                 return "redirect:/login?error=userNotFound";
             }
@@ -56,24 +59,11 @@ public class CaseController {
     }
 
     @GetMapping("/dashboard/admin")
-    public String adminDashboard(@RequestParam String userId, Model model) {
+    public String adminDashboard(@RequestParam String userId,
+                                 @RequestParam(required = false) String taskCursor,
+                                 @RequestParam(required = false) String caseCursor, Model model) {
         try {
-            User user = userService.getUserById(userId).block();
-            List<User> allUsers = userService.getAllUsers().collectList().block();
-            List<org.flowable.task.api.Task> allTasks = flowableCmmnService.getActiveTasks();
-            List<org.flowable.cmmn.api.runtime.CaseInstance> caseInstances = flowableCmmnService.getAllCaseInstances();
-            
-            Map<String, String> userNames = allUsers.stream()
-                .collect(Collectors.toMap(User::getId, User::getName));
-            
-            model.addAttribute("user", user);
-            model.addAttribute("allUsers", allUsers);
-            model.addAttribute("userNames", userNames);
-            model.addAttribute("totalTasks", allTasks.size());
-            model.addAttribute("caseInstances", caseInstances);
-            model.addAttribute("allTasks", allTasks);
-            model.addAttribute("notifications", Collections.emptyList());
-            model.addAttribute("activeCases", caseInstances.size());
+            model.addAllAttributes(dashboardService.adminDashboard(userId, taskCursor, caseCursor));
             model.addAttribute("documents", Collections.emptyList());
             model.addAttribute("workflows", Collections.emptyList());
             
@@ -86,15 +76,10 @@ public class CaseController {
     }
 
     @GetMapping("/dashboard/uploader")
-    public String uploaderDashboard(@RequestParam String userId, Model model) {
+    public String uploaderDashboard(@RequestParam String userId,
+                                    @RequestParam(required = false) String cursor, Model model) {
         try {
-            User user = userService.getUserById(userId).block();
-            List<org.flowable.task.api.Task> userTasks = flowableCmmnService.getTasksForUser(userId);
-            
-            model.addAttribute("user", user);
-            model.addAttribute("tasks", userTasks);
-            model.addAttribute("notifications", Collections.emptyList());
-            model.addAttribute("upcomingTasks", Collections.emptyList());
+            model.addAllAttributes(dashboardService.userDashboard(userId, cursor));
             
         } catch (Exception e) {
             log.error("Error loading uploader dashboard for user: {}", userId, e);
@@ -105,15 +90,10 @@ public class CaseController {
     }
 
     @GetMapping("/dashboard/reviewer")
-    public String reviewerDashboard(@RequestParam String userId, Model model) {
+    public String reviewerDashboard(@RequestParam String userId,
+                                    @RequestParam(required = false) String cursor, Model model) {
         try {
-            User user = userService.getUserById(userId).block();
-            List<org.flowable.task.api.Task> reviewTasks = flowableCmmnService.getTasksForUser(userId);
-            
-            model.addAttribute("user", user);
-            model.addAttribute("tasks", reviewTasks);
-            model.addAttribute("notifications", Collections.emptyList());
-            model.addAttribute("upcomingTasks", Collections.emptyList());
+            model.addAllAttributes(dashboardService.userDashboard(userId, cursor));
             
         } catch (Exception e) {
             log.error("Error loading reviewer dashboard for user: {}", userId, e);
@@ -124,15 +104,10 @@ public class CaseController {
     }
     
     @GetMapping("/dashboard/preparator")
-    public String preparatorDashboard(@RequestParam String userId, Model model) {
+    public String preparatorDashboard(@RequestParam String userId,
+                                      @RequestParam(required = false) String cursor, Model model) {
         try {
-            User user = userService.getUserById(userId).block();
-            List<org.flowable.task.api.Task> prepareTasks = flowableCmmnService.getTasksForUser(userId);
-            
-            model.addAttribute("user", user);
-            model.addAttribute("tasks", prepareTasks);
-            model.addAttribute("notifications", Collections.emptyList());
-            model.addAttribute("upcomingTasks", Collections.emptyList());
+            model.addAllAttributes(dashboardService.userDashboard(userId, cursor));
             
         } catch (Exception e) {
             log.error("Error loading preparator dashboard for user: {}", userId, e);
@@ -154,11 +129,13 @@ public class CaseController {
                 return "redirect:/dashboard/uploader?userId=" + userId + "&error=invalidFormat";
             }
             
-            Path uploadPath = Paths.get("uploads/" + System.currentTimeMillis() + "_" + fileName);
-            Files.createDirectories(uploadPath.getParent());
-            Files.write(uploadPath, file.getBytes());
+            DocumentStore.StoredDocument stored;
+            try (InputStream in = file.getInputStream()) {
+                stored = documentStore.put(in);
+            }
             
-            flowableCmmnService.completeUploadTask(taskId, uploadPath.toString(), "File uploaded: " + fileName);
+            flowableCmmnService.completeUploadTask(taskId, userId, stored.path().toString(), baseName(fileName),
+                "File uploaded: " + fileName);
             return "redirect:/dashboard/uploader?userId=" + userId + "&success=fileUploaded";
             
         } catch (Exception e) {
@@ -179,11 +156,13 @@ public class CaseController {
                 return "redirect:/dashboard/preparator?userId=" + userId + "&error=invalidFormat";
             }
             
-            Path path = Paths.get("uploads/prepared_" + System.currentTimeMillis() + "_" + fileName);
-            Files.createDirectories(path.getParent());
-            Files.write(path, file.getBytes());
+            DocumentStore.StoredDocument stored;
+            try (InputStream in = file.getInputStream()) {
+                stored = documentStore.put(in);
+            }
             
-            flowableCmmnService.completePrepareTask(taskId, path.toString(), "File prepared: " + fileName);
+            flowableCmmnService.completePrepareTask(taskId, userId, stored.path().toString(), baseName(fileName),
+                "File prepared: " + fileName);
             return "redirect:/dashboard/preparator?userId=" + userId + "&success=filePrepared";
             
         } catch (Exception e) {
@@ -204,7 +183,7 @@ public class CaseController {
                 return "redirect:/dashboard/reviewer?userId=" + userId + "&error=invalidDecision";
             }
             
-            flowableCmmnService.completeReviewTask(taskId, "APPROVED".equals(decision), message);
+            flowableCmmnService.completeReviewTask(taskId, userId, "APPROVED".equals(decision), message);
             return "redirect:/dashboard/reviewer?userId=" + userId + "&success=reviewCompleted";
             
         } catch (Exception e) {
@@ -213,6 +192,30 @@ public class CaseController {
         }
     }
 
+    @PostMapping("/task/review/bulk")
+    public String bulkReview(@RequestParam(required = false) List<String> taskIds, @RequestParam String decision,
+                             @RequestParam String message, @RequestParam String userId) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            return "redirect:/dashboard/reviewer?userId=" + userId + "&error=noTasksSelected";
+        }
+        if (message == null || message.trim().isEmpty()) {
+            return "redirect:/dashboard/reviewer?userId=" + userId + "&error=emptyMessage";
+        }
+        if (!"APPROVED".equals(decision) && !"REJECTED".equals(decision)) {
+            return "redirect:/dashboard/reviewer?userId=" + userId + "&error=invalidDecision";
+        }
+        
+        try {
+            BulkTaskService.BulkResult result = bulkTaskService.completeReviews(userId, taskIds,
+                "APPROVED".equals(decision), message);
+            return "redirect:/dashboard/reviewer?userId=" + userId + "&success=bulkReviewCompleted"
+                + "&completed=" + result.succeeded() + "&failed=" + result.failed();
+        } catch (Exception e) {
+            log.error("Bulk review failed", e);
+            return "redirect:/dashboard/reviewer?userId=" + userId + "&error=reviewFailed";
+        }
+    }
+    
     @PostMapping("/workflow/start")
     public String startWorkflow(@RequestParam String name, @RequestParam String startedBy,
                                @RequestParam(required = false) String scheduledStart, 
@@ -239,7 +242,12 @@ public class CaseController {
     
     @GetMapping("/dashboard")
     public String dashboard(@RequestParam String userId) {
-        User user = userService.getUserById(userId).block();
+        User user = userService.findById(userId);
         return user != null ? "redirect:/dashboard/" + user.getRole().toLowerCase() + "?userId=" + userId : "redirect:/login";
     }
+
+    // Browsers may send a client-side path; only the last segment is kept as the download name
+    private static String baseName(String originalFilename) {
+        return StringUtils.getFilename(StringUtils.cleanPath(originalFilename));
+    }
 }
\ No newline at end of file
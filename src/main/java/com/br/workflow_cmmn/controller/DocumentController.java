@@ -0,0 +1,180 @@
+package com.br.workflow_cmmn.controller;
+
+import com.br.workflow_cmmn.service.DocumentStore;
+import com.br.workflow_cmmn.service.FlowableCmmnService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * DocumentController - Serves stored documents by content hash
+ *
+ * Blobs are immutable, so the hash doubles as a strong ETag and responses are cacheable
+ * for a year. Single byte ranges are honored (206/416). When the container supports
+ * sendfile (Tomcat NIO), the body is handed to the connector for a zero-copy transfer;
+ * otherwise it is streamed with FileChannel.transferTo.
+ *
+ * Only blobs that are still referenced by a case or document are served.
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class DocumentController {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+    private static final Map<String, String> CASE_FILE_VARIABLES = Map.of(
+        "original", "originalFilePath",
+        "prepared", "preparedFilePath");
+    private static final Map<String, String> CASE_FILE_NAME_VARIABLES = Map.of(
+        "original", "originalFileName",
+        "prepared", "preparedFileName");
+
+    private final DocumentStore documentStore;
+    private final FlowableCmmnService flowableCmmnService;
+
+    @RequestMapping(value = "/documents/{hash}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void download(@PathVariable String hash, @RequestParam(required = false) String name,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> stored = documentStore.resolve(hash);
+        if (stored.isEmpty() || !documentStore.isReferenced(hash)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path path = stored.get();
+        String etag = "\"" + hash + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long length = Files.size(path);
+        long start = 0;
+        long end = length - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, etag)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Multi-range requests are rare for documents; they get the full body instead
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(contentType(name).toString());
+        if (name != null && !name.isBlank()) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name, StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        }
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    /**
+     * Resolves a case's original or prepared file to its content URL, so the browser caches
+     * the blob itself and repeated opens across a review cycle are served from cache or 304s.
+     * The download name (and with it the Content-Type) is the name the file was uploaded under,
+     * unless {@code name} overrides it.
+     */
+    @GetMapping("/documents/case/{caseId}/{kind}")
+    public String caseDocument(@PathVariable String caseId, @PathVariable String kind,
+                               @RequestParam(required = false) String name) {
+        String variableName = CASE_FILE_VARIABLES.get(kind);
+        Object storedPath = variableName != null ? flowableCmmnService.getCaseVariable(caseId, variableName) : null;
+        Optional<String> hash = storedPath instanceof String path ? documentStore.hashOf(path) : Optional.empty();
+        if (hash.isEmpty()) {
+            log.debug("No stored {} document for case {}", kind, caseId);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        String fileName = name;
+        if (fileName == null) {
+            // Cases from before file names were recorded fall back to a bare name (octet-stream)
+            Object storedName = flowableCmmnService.getCaseVariable(caseId, CASE_FILE_NAME_VARIABLES.get(kind));
+            fileName = storedName instanceof String original && !original.isBlank() ? original : kind;
+        }
+        return "redirect:" + UriComponentsBuilder.fromPath("/documents/{hash}")
+            .queryParam("name", fileName)
+            .buildAndExpand(hash.get())
+            .encode()
+            .toUriString();
+    }
+
+    private boolean ifRangeMatches(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(etag);
+    }
+
+    private MediaType contentType(String name) {
+        return name != null
+            ? MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM)
+            : MediaType.APPLICATION_OCTET_STREAM;
+    }
+}
@@ -0,0 +1,24 @@
+package com.br.workflow_cmmn.controller;
+
+import com.br.workflow_cmmn.service.NotificationStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequiredArgsConstructor
+public class NotificationStreamController {
+
+    private final NotificationStream notificationStream;
+
+    @GetMapping(value = "/api/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> stream(@RequestParam String userId,
+                                                @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return notificationStream.subscribe(userId, lastEventId);
+    }
+}
@@ -0,0 +1,25 @@
+package com.br.workflow_cmmn.listener;
+
+import com.br.workflow_cmmn.service.CmmnEvent;
+import com.br.workflow_cmmn.service.CmmnEventSubscriber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Audit trail of engine events, written off the engine thread.
+ */
+@Slf4j
+@Component
+public class AuditLogSubscriber implements CmmnEventSubscriber {
+
+    @Override
+    public String getName() {
+        return "audit";
+    }
+
+    @Override
+    public void onEvent(CmmnEvent event) {
+        log.debug("CMMN Event: {} entity={} case={} assignee={}",
+                event.type(), event.entityId(), event.caseInstanceId(), event.assignee());
+    }
+}
@@ -0,0 +1,54 @@
+package com.br.workflow_cmmn.listener;
+
+import com.br.workflow_cmmn.service.DocumentStore;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.cmmn.api.listener.CaseInstanceLifecycleListener;
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.variable.api.delegate.VariableScope;
+
+import java.util.List;
+
+/**
+ * Releases a case's references on its original and prepared file when the case reaches
+ * {@code targetState} (completed or terminated), so the blobs become eligible for purging.
+ *
+ * Runs inside the engine command that ends the case, so the release commits or rolls back
+ * with the case itself; the variables are still readable from the case instance at that point.
+ */
+@Slf4j
+public class DocumentReferenceListener implements CaseInstanceLifecycleListener {
+    private static final List<String> FILE_VARIABLES = List.of("originalFilePath", "preparedFilePath");
+
+    private final String targetState;
+    private final DocumentStore documentStore;
+
+    public DocumentReferenceListener(String targetState, DocumentStore documentStore) {
+        this.targetState = targetState;
+        this.documentStore = documentStore;
+    }
+
+    @Override
+    public String getSourceState() {
+        return null;
+    }
+
+    @Override
+    public String getTargetState() {
+        return targetState;
+    }
+
+    @Override
+    public void stateChanged(CaseInstance caseInstance, String oldState, String newState) {
+        if (!(caseInstance instanceof VariableScope variables)) {
+            return;
+        }
+        for (String name : FILE_VARIABLES) {
+            if (variables.getVariable(name) instanceof String path) {
+                documentStore.hashOf(path).ifPresent(hash -> {
+                    documentStore.release(hash);
+                    log.debug("Released {} of {} case {}", name, newState, caseInstance.getId());
+                });
+            }
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.br.workflow_cmmn.listener;
 
+import lombok.extern.slf4j.Slf4j;
 import org.flowable.task.service.delegate.DelegateTask;
 import org.flowable.task.service.delegate.TaskListener;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 public class ReviewCompleteListener implements TaskListener {
     
@@ -16,7 +18,6 @@ public class ReviewCompleteListener implements TaskListener {
         String decision = (String) delegateTask.getVariable("reviewDecision");
         
         // Log review completion
-        System.out.println("Review completed for task: " + delegateTask.getName() + 
-                          " with decision: " + decision);
+        log.debug("Review completed for task: {} with decision: {}", delegateTask.getName(), decision);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package com.br.workflow_cmmn.listener;
+
+import com.br.workflow_cmmn.service.CmmnEvent;
+import com.br.workflow_cmmn.service.CmmnEventSubscriber;
+import com.br.workflow_cmmn.service.TaskArrivedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Turns task creation and assignment into {@link TaskArrivedEvent}s for the SSE push channel.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskArrivalSubscriber implements CmmnEventSubscriber {
+    private static final Set<String> TASK_EVENTS = Set.of("TASK_CREATED", "TASK_ASSIGNED");
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String getName() {
+        return "task-arrivals";
+    }
+
+    @Override
+    public boolean accepts(String eventType) {
+        return TASK_EVENTS.contains(eventType);
+    }
+
+    @Override
+    public void onEvent(CmmnEvent event) {
+        if (event.assignee() != null) {
+            eventPublisher.publishEvent(new TaskArrivedEvent(
+                event.assignee(), event.entityId(), event.name(), event.caseInstanceId()));
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.br.workflow_cmmn.listener;
 
+import lombok.extern.slf4j.Slf4j;
 import org.flowable.task.service.delegate.DelegateTask;
 import org.flowable.task.service.delegate.TaskListener;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 public class TaskCreationListener implements TaskListener {
     
@@ -13,7 +15,6 @@ public class TaskCreationListener implements TaskListener {
         delegateTask.setVariable("taskCreatedAt", System.currentTimeMillis());
         
         // Log task creation
-        System.out.println("Task created: " + delegateTask.getName() + 
-                          " assigned to: " + delegateTask.getAssignee());
+        log.debug("Task created: {} assigned to: {}", delegateTask.getName(), delegateTask.getAssignee());
     }
-}
\ No newline at end of file
+}
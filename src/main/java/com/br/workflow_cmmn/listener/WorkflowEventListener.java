@@ -1,20 +1,31 @@
 package com.br.workflow_cmmn.listener;
 
+import com.br.workflow_cmmn.service.CmmnEvent;
+import com.br.workflow_cmmn.service.CmmnEventBus;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.flowable.common.engine.api.delegate.event.FlowableEvent;
 import org.flowable.common.engine.api.delegate.event.FlowableEventListener;
+import org.flowable.common.engine.impl.cfg.TransactionState;
 import org.springframework.stereotype.Component;
 
+/**
+ * Copies committed engine events onto the {@link CmmnEventBus} and returns immediately;
+ * subscribers run on their own threads.
+ */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class WorkflowEventListener implements FlowableEventListener {
 
+    private final CmmnEventBus eventBus;
+
     @Override
     public void onEvent(FlowableEvent event) {
         try {
-            log.info("CMMN Event: {}", event.getType());
+            eventBus.publish(CmmnEvent.from(event));
         } catch (Exception e) {
-            log.debug("Event processing: {}", event.getType());
+            log.debug("Event processing: {}", event.getType(), e);
         }
     }
 
@@ -25,11 +36,12 @@ public class WorkflowEventListener implements FlowableEventListener {
 
     @Override
     public boolean isFireOnTransactionLifecycleEvent() {
-        return false;
+        // Only committed work reaches subscribers, so rolled-back tasks are never pushed or audited
+        return true;
     }
 
     @Override
     public String getOnTransaction() {
-        return null;
+        return TransactionState.COMMITTED.name();
     }
-}
\ No newline at end of file
+}
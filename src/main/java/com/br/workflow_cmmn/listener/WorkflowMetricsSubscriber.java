@@ -0,0 +1,75 @@
+package com.br.workflow_cmmn.listener;
+
+import com.br.workflow_cmmn.service.CmmnEvent;
+import com.br.workflow_cmmn.service.CmmnEventSubscriber;
+import com.br.workflow_cmmn.service.WorkflowMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Feeds task lifecycle and async job events into {@link WorkflowMetrics}. Runs on its own event bus thread,
+ * so the open-case bookkeeping below needs no synchronization.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkflowMetricsSubscriber implements CmmnEventSubscriber {
+    private static final String UPLOAD = "uploadHumanTask";
+    private static final String REVIEW = "reviewHumanTask";
+    private static final String JOB_EXECUTED = "JOB_EXECUTION_SUCCESS";
+    private static final int MAX_OPEN_CASES = 50_000;
+
+    private final WorkflowMetrics workflowMetrics;
+
+    // Upload task creation time per case, for the end-to-end cycle timer; oldest entries are
+    // evicted so abandoned cases cannot grow this without bound
+    private final Map<String, Long> uploadStarted = new LinkedHashMap<>(1024, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_OPEN_CASES;
+        }
+    };
+
+    @Override
+    public String getName() {
+        return "metrics";
+    }
+
+    @Override
+    public boolean accepts(String eventType) {
+        return "TASK_CREATED".equals(eventType) || "TASK_COMPLETED".equals(eventType)
+            || JOB_EXECUTED.equals(eventType);
+    }
+
+    @Override
+    public void onEvent(CmmnEvent event) {
+        if (JOB_EXECUTED.equals(event.type())) {
+            workflowMetrics.recordJobLatency(event.createdMillis(), publishedMillis(event));
+            return;
+        }
+        if ("TASK_CREATED".equals(event.type())) {
+            if (UPLOAD.equals(event.definitionKey()) && event.caseInstanceId() != null) {
+                uploadStarted.putIfAbsent(event.caseInstanceId(), event.createdMillis());
+            }
+            return;
+        }
+
+        long completedMillis = publishedMillis(event);
+        workflowMetrics.recordTaskCompleted(event.definitionKey(), event.createdMillis(),
+                event.claimedMillis(), event.dueMillis(), completedMillis);
+
+        if (REVIEW.equals(event.definitionKey()) && event.caseInstanceId() != null) {
+            Long started = uploadStarted.remove(event.caseInstanceId());
+            if (started != null) {
+                workflowMetrics.recordCaseCycle(started, completedMillis);
+            }
+        }
+    }
+
+    private static long publishedMillis(CmmnEvent event) {
+        // The event happened when it was published, not when this thread got to it
+        return System.currentTimeMillis() - (System.nanoTime() - event.publishedNanos()) / 1_000_000;
+    }
+}
@@ -0,0 +1,18 @@
+package com.br.workflow_cmmn.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Status projection of a case: identity, state, the requested variables and the number of
+ * open tasks. A case that does not exist carries only its id and an error.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CaseStatus(String caseId, String name, String state, Map<String, Object> variables,
+                         Long activeTasks, String error) {
+
+    public static CaseStatus notFound(String caseId) {
+        return new CaseStatus(caseId, null, null, null, null, "Case not found");
+    }
+}
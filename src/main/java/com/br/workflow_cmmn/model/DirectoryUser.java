@@ -0,0 +1,17 @@
+package com.br.workflow_cmmn.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Data
+@Table(indexes = @Index(name = "idx_directory_user_role", columnList = "role"))
+public class DirectoryUser {
+    @Id
+    private String id;
+
+    private String username;
+    private String email;
+    private String role; // ADMIN, UPLOADER, PREPARATOR, REVIEWER
+    private String name;
+}
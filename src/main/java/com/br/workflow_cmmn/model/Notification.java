@@ -8,8 +8,9 @@ import java.time.LocalDateTime;
 @Data
 public class Notification {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
+    private Long id; // Pooled sequence so inserts can be JDBC-batched
     
     private String userId;
     private String message;
@@ -0,0 +1,15 @@
+package com.br.workflow_cmmn.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+public class SchedulerLease {
+    @Id
+    private Integer partitionId;
+
+    private String owner; // Node ID holding the lease, null when free
+    private LocalDateTime expiresAt;
+}
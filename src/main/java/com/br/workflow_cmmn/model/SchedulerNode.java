@@ -0,0 +1,14 @@
+package com.br.workflow_cmmn.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+public class SchedulerNode {
+    @Id
+    private String nodeId;
+
+    private LocalDateTime lastHeartbeat;
+}
@@ -0,0 +1,19 @@
+package com.br.workflow_cmmn.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(indexes = @Index(name = "idx_stored_blob_ref_count", columnList = "refCount"))
+public class StoredBlob {
+    @Id
+    @Column(length = 64)
+    private String hash; // SHA-256, lowercase hex
+
+    private long size;
+    private int refCount; // Case variables and documents currently pointing at this blob
+    private LocalDateTime createdAt;
+    private LocalDateTime lastReferencedAt;
+}
@@ -2,13 +2,19 @@ package com.br.workflow_cmmn.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 
 @Entity
 @Data
 public class Workflow {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_seq")
+    @SequenceGenerator(name = "workflow_seq", sequenceName = "workflow_seq", allocationSize = 50)
     private Long id;
     
     private String name;
@@ -19,4 +25,28 @@ public class Workflow {
     
     @Column(columnDefinition = "TEXT")
     private String workflowDefinition;
-}
\ No newline at end of file
+
+    // SHA-256 of workflowDefinition, maintained on every save
+    @Column(length = 64)
+    private String definitionHash;
+    // Hash of the definition last handed to the engine; deploymentId is null if the engine rejected it
+    @Column(length = 64)
+    private String deployedHash;
+    private String deploymentId;
+
+    @PrePersist
+    @PreUpdate
+    void hashDefinition() {
+        if (workflowDefinition == null) {
+            definitionHash = null;
+            return;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(workflowDefinition.getBytes(StandardCharsets.UTF_8));
+            definitionHash = HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
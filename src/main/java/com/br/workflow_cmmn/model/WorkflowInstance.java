@@ -6,16 +6,29 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
+@Table(indexes = {
+    @Index(name = "idx_workflow_instance_status_scheduled", columnList = "status, scheduledStart"),
+    @Index(name = "idx_workflow_instance_series_due", columnList = "successorMaterialized, nextNominalStart")
+})
 public class WorkflowInstance {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_instance_seq")
+    @SequenceGenerator(name = "workflow_instance_seq", sequenceName = "workflow_instance_seq", allocationSize = 50)
     private Long id;
     
     private String workflowName;
     private String startedBy;
-    private String status; // ACTIVE, COMPLETED, FAILED
-    private LocalDateTime scheduledStart;
+    private String status; // SCHEDULED, ACTIVE, COMPLETED, FAILED
+    private LocalDateTime scheduledStart; // nominalStart plus the series' spread offset
     private String frequency; // ONCE, DAILY, WEEKLY, MONTHLY
+    
+    // Recurrence - occurrence N of a series is due at seriesAnchor + N * frequency
+    private Long seriesId; // ID of the first instance in the series
+    private LocalDateTime seriesAnchor;
+    private Integer occurrence;
+    private LocalDateTime nominalStart;
+    private LocalDateTime nextNominalStart; // nominal start of occurrence + 1; what the materializer filters on
+    private boolean successorMaterialized;
     private LocalDateTime actualStart;
     private LocalDateTime endTime;
     private String uploader;
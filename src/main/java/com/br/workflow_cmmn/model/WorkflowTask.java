@@ -6,9 +6,16 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
+@Table(indexes = {
+    // Dashboard lookups: a user's pending tasks, optionally of one stage
+    @Index(name = "idx_workflow_task_assignee_status_name", columnList = "assignee, status, taskName"),
+    // Stage checks within one workflow (e.g. completed upload before review)
+    @Index(name = "idx_workflow_task_instance_name_status", columnList = "workflowInstanceId, taskName, status")
+})
 public class WorkflowTask {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_task_seq")
+    @SequenceGenerator(name = "workflow_task_seq", sequenceName = "workflow_task_seq", allocationSize = 50)
     private Long id;
     
     private String taskName; // START, UPLOAD, PREPARE, REVIEW, END
@@ -0,0 +1,7 @@
+package com.br.workflow_cmmn.repository;
+
+import com.br.workflow_cmmn.model.DirectoryUser;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DirectoryUserRepository extends JpaRepository<DirectoryUser, String> {
+}
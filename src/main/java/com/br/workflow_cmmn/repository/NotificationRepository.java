@@ -6,4 +6,6 @@ import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserIdAndReadFalse(String userId);
+    List<Notification> findTop50ByUserIdAndReadFalseOrderByIdDesc(String userId);
+    List<Notification> findTop200ByUserIdAndIdGreaterThanOrderById(String userId, Long afterId);
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.br.workflow_cmmn.repository;
+
+import com.br.workflow_cmmn.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, Integer> {
+
+    /**
+     * Takes a partition that is free, expired or already ours; returns 0 if another node holds it.
+     */
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = :node, l.expiresAt = :expiresAt where l.partitionId = :partition " +
+           "and (l.owner is null or l.owner = :node or l.expiresAt < :now)")
+    int tryAcquire(@Param("partition") Integer partition, @Param("node") String node,
+                   @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("update SchedulerLease l set l.expiresAt = :expiresAt where l.owner = :node and l.expiresAt >= :now")
+    int renew(@Param("node") String node, @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = null, l.expiresAt = null where l.partitionId = :partition and l.owner = :node")
+    int release(@Param("partition") Integer partition, @Param("node") String node);
+
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = null, l.expiresAt = null where l.owner = :node")
+    int releaseAll(@Param("node") String node);
+
+    @Query("select l.partitionId from SchedulerLease l where l.owner = :node and l.expiresAt >= :now")
+    List<Integer> findHeldPartitions(@Param("node") String node, @Param("now") LocalDateTime now);
+
+    @Query("select l.partitionId from SchedulerLease l where l.owner is null or l.expiresAt < :now")
+    List<Integer> findAvailablePartitions(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,16 @@
+package com.br.workflow_cmmn.repository;
+
+import com.br.workflow_cmmn.model.SchedulerNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+
+public interface SchedulerNodeRepository extends JpaRepository<SchedulerNode, String> {
+    long countByLastHeartbeatAfter(LocalDateTime cutoff);
+
+    @Modifying
+    @Query("delete from SchedulerNode n where n.lastHeartbeat < :cutoff")
+    int deleteStale(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,23 @@
+package com.br.workflow_cmmn.repository;
+
+import com.br.workflow_cmmn.model.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    @Modifying
+    @Query("update StoredBlob b set b.refCount = b.refCount + 1, b.lastReferencedAt = :now where b.hash = :hash")
+    int incrementRefCount(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update StoredBlob b set b.refCount = b.refCount - 1, b.lastReferencedAt = :now " +
+           "where b.hash = :hash and b.refCount > 0")
+    int decrementRefCount(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    List<StoredBlob> findByRefCountAndLastReferencedAtBefore(int refCount, LocalDateTime before);
+}
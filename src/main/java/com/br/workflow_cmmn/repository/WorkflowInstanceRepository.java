@@ -1,10 +1,57 @@
 package com.br.workflow_cmmn.repository;
 
 import com.br.workflow_cmmn.model.WorkflowInstance;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface WorkflowInstanceRepository extends JpaRepository<WorkflowInstance, Long> {
     List<WorkflowInstance> findByScheduledStartBeforeAndStatus(LocalDateTime dateTime, String status);
+    List<ScheduledStart> findByStatusOrderByScheduledStart(String status);
+
+    /**
+     * Scheduled workflows in which the user takes part, soonest first.
+     */
+    @Query("select w from WorkflowInstance w where w.status = 'SCHEDULED' " +
+           "and (w.uploader = :userId or w.preparator = :userId or w.reviewer = :userId) order by w.scheduledStart")
+    List<WorkflowInstance> findScheduledForParticipant(@Param("userId") String userId);
+
+    /**
+     * Moves a SCHEDULED instance to ACTIVE; returns 0 if another caller already activated it.
+     */
+    @Modifying
+    @Query("update WorkflowInstance w set w.status = 'ACTIVE', w.actualStart = :now where w.id = :id and w.status = 'SCHEDULED'")
+    int activateIfScheduled(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Latest occurrence of each recurring series whose successor has not been created yet and
+     * is due by the horizon, keyset-paged by ID so skipped heads never stall the scan.
+     */
+    @Query("select w from WorkflowInstance w where w.successorMaterialized = false " +
+           "and w.nextNominalStart <= :horizon and w.id > :afterId order by w.id")
+    List<WorkflowInstance> findSeriesToMaterialize(@Param("horizon") LocalDateTime horizon,
+                                                   @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Series heads written before nextNominalStart existed.
+     */
+    @Query("select w from WorkflowInstance w where w.frequency in ('DAILY', 'WEEKLY', 'MONTHLY') " +
+           "and w.successorMaterialized = false and w.seriesAnchor is not null and w.nextNominalStart is null")
+    List<WorkflowInstance> findSeriesHeadsWithoutNextStart();
+
+    /**
+     * Claims a series head for materialization; returns 0 if its successor was already created.
+     */
+    @Modifying
+    @Query("update WorkflowInstance w set w.successorMaterialized = true where w.id = :id and w.successorMaterialized = false")
+    int claimSuccessor(@Param("id") Long id);
+
+    interface ScheduledStart {
+        Long getId();
+        LocalDateTime getScheduledStart();
+    }
 }
\ No newline at end of file
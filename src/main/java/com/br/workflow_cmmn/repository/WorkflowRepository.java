@@ -2,6 +2,29 @@ package com.br.workflow_cmmn.repository;
 
 import com.br.workflow_cmmn.model.Workflow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 public interface WorkflowRepository extends JpaRepository<Workflow, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Definitions whose current content has not been handed to the engine yet.
+     */
+    @Query("select w from Workflow w where w.definitionHash is not null " +
+           "and (w.deployedHash is null or w.deployedHash <> w.definitionHash)")
+    List<Workflow> findPendingDeployment();
+
+    /**
+     * Records a deployment without touching the rest of the row; does nothing if the definition
+     * was edited meanwhile, so that edit stays pending for the next sweep.
+     */
+    @Modifying
+    @Transactional
+    @Query("update Workflow w set w.deployedHash = :hash, w.deploymentId = :deploymentId " +
+           "where w.id = :id and w.definitionHash = :hash")
+    int markDeployed(@Param("id") Long id, @Param("hash") String hash, @Param("deploymentId") String deploymentId);
+}
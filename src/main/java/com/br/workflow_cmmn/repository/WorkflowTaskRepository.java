@@ -2,9 +2,20 @@ package com.br.workflow_cmmn.repository;
 
 import com.br.workflow_cmmn.model.WorkflowTask;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface WorkflowTaskRepository extends JpaRepository<WorkflowTask, Long> {
     List<WorkflowTask> findByAssignee(String assignee);
+    List<WorkflowTask> findByAssigneeAndStatus(String assignee, String status);
     List<WorkflowTask> findByWorkflowInstanceId(Long workflowInstanceId);
-}
\ No newline at end of file
+    long countByWorkflowInstanceIdAndTaskNameAndStatus(Long workflowInstanceId, String taskName, String status);
+
+    /**
+     * Pending review tasks of a reviewer that carry both the original and the prepared file.
+     */
+    @Query("select t from WorkflowTask t where t.assignee = :assignee and t.status = 'PENDING' " +
+           "and t.taskName = 'REVIEW' and t.originalFilePath is not null and t.preparedFilePath is not null")
+    List<WorkflowTask> findReviewReadyTasks(@Param("assignee") String assignee);
+}
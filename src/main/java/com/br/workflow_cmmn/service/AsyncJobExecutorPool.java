@@ -0,0 +1,109 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.config.AsyncExecutorProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AsyncJobExecutorPool - Threads that run Flowable async jobs (e.g. notifyParticipantsTask)
+ *
+ * MODES:
+ * - Pool (default): bounded ThreadPoolTaskExecutor sized by app.async-executor.*; when its
+ *   queue is full the engine stops acquiring for queue-full-wait-time
+ * - Virtual threads: one virtual thread per job, at most max-pool-size running at once, for
+ *   delegates that mostly wait on I/O. Needs JDK 21; older JDKs log a warning and use the pool
+ *
+ * Every job is wrapped so its wait for a thread and its run time are recorded in
+ * {@link WorkflowMetrics}; queued and active counts are exposed as gauges.
+ */
+@Slf4j
+@Component
+public class AsyncJobExecutorPool implements DisposableBean {
+    private static final String THREAD_PREFIX = "flowable-job-";
+
+    private final WorkflowMetrics workflowMetrics;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final ThreadPoolTaskExecutor pool;
+    private final AsyncTaskExecutor executor;
+
+    public AsyncJobExecutorPool(AsyncExecutorProperties properties, WorkflowMetrics workflowMetrics) {
+        this.workflowMetrics = workflowMetrics;
+        if (properties.isVirtualThreads() && Runtime.version().feature() < 21) {
+            log.warn("Virtual threads need JDK 21+ (running {}), async jobs use the thread pool instead",
+                Runtime.version());
+        }
+
+        if (properties.isVirtualThreads() && Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor(THREAD_PREFIX);
+            virtual.setVirtualThreads(true);
+            // Blocks the acquiring thread once the limit is reached, which throttles acquisition
+            virtual.setConcurrencyLimit(properties.getMaxPoolSize());
+            virtual.setTaskDecorator(this::measure);
+            this.pool = null;
+            this.executor = virtual;
+            log.info("Async jobs run on virtual threads (max {} concurrent)", properties.getMaxPoolSize());
+        } else {
+            ThreadPoolTaskExecutor threadPool = new ThreadPoolTaskExecutor();
+            threadPool.setThreadNamePrefix(THREAD_PREFIX);
+            threadPool.setCorePoolSize(properties.getCorePoolSize());
+            threadPool.setMaxPoolSize(properties.getMaxPoolSize());
+            threadPool.setQueueCapacity(properties.getQueueSize());
+            threadPool.setKeepAliveSeconds((int) properties.getKeepAlive().toSeconds());
+            threadPool.setWaitForTasksToCompleteOnShutdown(true);
+            threadPool.setAwaitTerminationSeconds(30);
+            threadPool.setTaskDecorator(this::measure);
+            threadPool.initialize();
+            this.pool = threadPool;
+            this.executor = threadPool;
+            log.info("Async jobs run on a pool of {}-{} threads with queue {}",
+                properties.getCorePoolSize(), properties.getMaxPoolSize(), properties.getQueueSize());
+        }
+    }
+
+    public AsyncTaskExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Jobs handed to the executor that have not started yet.
+     */
+    public int getQueuedCount() {
+        // Rejected submissions were decorated but never run, so the pool asks its queue directly
+        return pool != null ? pool.getThreadPoolExecutor().getQueue().size() : pending.get();
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private Runnable measure(Runnable job) {
+        long submitted = System.nanoTime();
+        pending.incrementAndGet();
+        return () -> {
+            long started = System.nanoTime();
+            pending.decrementAndGet();
+            active.incrementAndGet();
+            try {
+                job.run();
+            } finally {
+                active.decrementAndGet();
+                workflowMetrics.recordJobExecution(started - submitted, System.nanoTime() - started);
+            }
+        };
+    }
+}
@@ -0,0 +1,301 @@
+package com.br.workflow_cmmn.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.cmmn.api.CmmnRepositoryService;
+import org.flowable.cmmn.api.CmmnRuntimeService;
+import org.flowable.cmmn.api.repository.CaseDefinition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * BulkCaseStartService - Starts many document review cases from one streamed request
+ *
+ * INPUT (one case per line, read incrementally - the request is never held in memory):
+ * - NDJSON: {"name":..,"startedBy":..,"uploader":..,"preparator":..,"reviewer":..,"instructions":..}
+ * - CSV: header row naming the same columns in any order, then one row per case
+ *   (quoted fields with "" escapes are supported, fields spanning lines are not)
+ * - A line that is unreadable, lacks a required field or gives one user two roles fails
+ *   on its own; the rest of the request carries on
+ *
+ * BATCHING:
+ * - Valid items are started in transactions of app.bulk-start.batch-size cases, so commit,
+ *   flush and notification insert costs are paid once per batch instead of once per case
+ * - The case definition is resolved once per request instead of once per case
+ * - If a batch fails, it is rolled back and replayed one case per transaction, so a single
+ *   bad item only fails itself
+ *
+ * OUTPUT:
+ * - One {@link Result} per input line, emitted as soon as its batch commits, in input order
+ * - A final {@link Summary} with counts and cases/second
+ */
+@Slf4j
+@Service
+public class BulkCaseStartService {
+    public enum Format { NDJSON, CSV }
+
+    private static final String[] COLUMNS = {"name", "startedBy", "uploader", "preparator", "reviewer", "instructions"};
+
+    private final CmmnRuntimeService cmmnRuntimeService;
+    private final CmmnRepositoryService cmmnRepositoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int defaultBatchSize;
+    private final int maxBatchSize;
+
+    public BulkCaseStartService(CmmnRuntimeService cmmnRuntimeService,
+                                CmmnRepositoryService cmmnRepositoryService,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${app.bulk-start.batch-size:100}") int defaultBatchSize,
+                                @Value("${app.bulk-start.max-batch-size:1000}") int maxBatchSize) {
+        this.cmmnRuntimeService = cmmnRuntimeService;
+        this.cmmnRepositoryService = cmmnRepositoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.defaultBatchSize = defaultBatchSize;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Reads start requests from {@code input} and starts them in batches, handing every
+     * per-line result to {@code results} as soon as it is final.
+     *
+     * @param batchSize cases per transaction, or null for the configured default
+     */
+    public Summary startAll(Reader input, Format format, Integer batchSize, Consumer<Result> results) {
+        int size = Math.max(1, Math.min(batchSize != null ? batchSize : defaultBatchSize, maxBatchSize));
+        String caseDefinitionId = latestCaseDefinitionId();
+        long started = System.nanoTime();
+        Counts counts = new Counts();
+        List<Line> pending = new ArrayList<>(size);
+
+        try (BufferedReader reader = new BufferedReader(input)) {
+            Map<String, Integer> header = null;
+            long lineNumber = 0;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && header == null) {
+                    header = parseHeader(text);
+                    continue;
+                }
+
+                Line line = parse(lineNumber, text, format, header);
+                if (line.error != null) {
+                    // Keep results in input order: anything queued before this line goes first
+                    flush(pending, caseDefinitionId, counts, results);
+                    counts.failed++;
+                    results.accept(new Result(line.number, line.item == null ? null : line.item.name(), null, line.error));
+                    continue;
+                }
+                pending.add(line);
+                if (pending.size() >= size) {
+                    flush(pending, caseDefinitionId, counts, results);
+                }
+            }
+            flush(pending, caseDefinitionId, counts, results);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read bulk start request", e);
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        double casesPerSecond = elapsedMillis == 0 ? counts.started : counts.started * 1000.0 / elapsedMillis;
+        log.info("Bulk start finished: {} started, {} failed in {} ms ({} cases/s, batch size {})",
+            counts.started, counts.failed, elapsedMillis, String.format(Locale.ROOT, "%.1f", casesPerSecond), size);
+        return new Summary(counts.started + counts.failed, counts.started, counts.failed, elapsedMillis, casesPerSecond);
+    }
+
+    private void flush(List<Line> pending, String caseDefinitionId, Counts counts, Consumer<Result> results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Result> batch;
+        try {
+            batch = transactionTemplate.execute(status -> {
+                List<Result> started = new ArrayList<>(pending.size());
+                for (Line line : pending) {
+                    started.add(new Result(line.number, line.item.name(), start(caseDefinitionId, line.item), null));
+                }
+                return started;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Bulk start batch of {} failed ({}) - retrying cases individually", pending.size(), e.getMessage());
+            batch = new ArrayList<>(pending.size());
+            for (Line line : pending) {
+                batch.add(startAlone(caseDefinitionId, line));
+            }
+        }
+        pending.clear();
+
+        for (Result result : batch) {
+            if (result.error() == null) {
+                counts.started++;
+            } else {
+                counts.failed++;
+            }
+            results.accept(result);
+        }
+    }
+
+    private Result startAlone(String caseDefinitionId, Line line) {
+        try {
+            String caseInstanceId = transactionTemplate.execute(status -> start(caseDefinitionId, line.item));
+            return new Result(line.number, line.item.name(), caseInstanceId, null);
+        } catch (RuntimeException e) {
+            return new Result(line.number, line.item.name(), null, e.getMessage());
+        }
+    }
+
+    private String start(String caseDefinitionId, Item item) {
+        return cmmnRuntimeService.createCaseInstanceBuilder()
+            .caseDefinitionId(caseDefinitionId)
+            .name(item.name())
+            .variables(FlowableCmmnService.caseVariables(item.name(), item.startedBy(), item.uploader(),
+                item.preparator(), item.reviewer(), item.instructions()))
+            .start()
+            .getId();
+    }
+
+    private String latestCaseDefinitionId() {
+        CaseDefinition definition = cmmnRepositoryService.createCaseDefinitionQuery()
+            .caseDefinitionKey(FlowableCmmnService.CASE_DEFINITION_KEY)
+            .latestVersion()
+            .singleResult();
+        if (definition == null) {
+            throw new IllegalStateException("Case definition not deployed: " + FlowableCmmnService.CASE_DEFINITION_KEY);
+        }
+        return definition.getId();
+    }
+
+    private Line parse(long number, String text, Format format, Map<String, Integer> header) {
+        Item item;
+        try {
+            item = format == Format.NDJSON ? objectMapper.readValue(text, Item.class) : fromCsv(text, header);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return new Line(number, null, "Unreadable line: " + e.getMessage());
+        }
+        if (item == null) {
+            return new Line(number, null, "Unreadable line");
+        }
+        String missing = item.missingField();
+        if (missing != null) {
+            return new Line(number, item, "Missing required field: " + missing);
+        }
+        if (!item.hasDistinctUsers()) {
+            return new Line(number, item, "Uploader, preparator and reviewer must be different users");
+        }
+        return new Line(number, item, null);
+    }
+
+    private static Map<String, Integer> parseHeader(String text) {
+        List<String> names = splitCsv(text);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : COLUMNS) {
+            if (!header.containsKey(column.toLowerCase(Locale.ROOT)) && !"instructions".equals(column)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + column);
+            }
+        }
+        return header;
+    }
+
+    private static Item fromCsv(String text, Map<String, Integer> header) {
+        List<String> fields = splitCsv(text);
+        String[] values = new String[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            Integer index = header.get(COLUMNS[i].toLowerCase(Locale.ROOT));
+            values[i] = index != null && index < fields.size() ? fields.get(index).trim() : null;
+        }
+        return new Item(values[0], values[1], values[2], values[3], values[4], values[5]);
+    }
+
+    static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    public record Item(String name, String startedBy, String uploader, String preparator,
+                       String reviewer, String instructions) {
+
+        String missingField() {
+            if (isBlank(name)) return "name";
+            if (isBlank(startedBy)) return "startedBy";
+            if (isBlank(uploader)) return "uploader";
+            if (isBlank(preparator)) return "preparator";
+            if (isBlank(reviewer)) return "reviewer";
+            return null;
+        }
+
+        /** Same rule as the admin start form: one user cannot hold two roles on a case */
+        boolean hasDistinctUsers() {
+            return !uploader.equals(preparator) && !uploader.equals(reviewer) && !preparator.equals(reviewer);
+        }
+
+        private static boolean isBlank(String value) {
+            return value == null || value.isBlank();
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Result(long line, String name, String caseInstanceId, String error) {
+    }
+
+    public record Summary(long total, long started, long failed, long elapsedMillis, double casesPerSecond) {
+    }
+
+    private record Line(long number, Item item, String error) {
+    }
+
+    private static final class Counts {
+        private long started;
+        private long failed;
+    }
+}
@@ -0,0 +1,245 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.User;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.cmmn.api.CmmnRuntimeService;
+import org.flowable.cmmn.api.CmmnTaskService;
+import org.flowable.task.api.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * BulkTaskService - Completes or reassigns many tasks per request
+ *
+ * OPERATIONS:
+ * - completeReviews: applies one decision and message to a list of review tasks owned by the
+ *   reviewer (same variables and metrics as a single review)
+ * - reassignOpenTasks: hands every open task of a user to another user of the matching role
+ *   (vacation handover) and records them in the case's role variable, so later stages and
+ *   reworks go to the new user; the new assignee is notified through the usual TASK_ASSIGNED path
+ *
+ * EXECUTION:
+ * - Tasks are loaded with one query per chunk of app.bulk-tasks.chunk-size instead of one
+ *   lookup per task, checked, and the eligible ones processed in one transaction per chunk
+ * - A chunk that fails is rolled back and replayed one task per transaction, so a task that
+ *   was completed concurrently only fails itself
+ * - Every requested task gets a {@link TaskOutcome}; nothing is dropped silently. A handover
+ *   covers at most app.bulk-tasks.max-tasks tasks and flags the result as truncated when the
+ *   user holds more, so the caller knows to run it again
+ */
+@Slf4j
+@Service
+public class BulkTaskService {
+    public enum Status { COMPLETED, REASSIGNED, SKIPPED, FAILED }
+
+    private static final String REVIEW_TASK = "reviewHumanTask";
+    private static final Map<String, TaskRole> TASK_ROLES = Map.of(
+        "uploadHumanTask", new TaskRole("UPLOADER", "uploader"),
+        "prepareHumanTask", new TaskRole("PREPARATOR", "preparator"),
+        REVIEW_TASK, new TaskRole("REVIEWER", "reviewer"));
+
+    private final CmmnTaskService cmmnTaskService;
+    private final CmmnRuntimeService cmmnRuntimeService;
+    private final UserService userService;
+    private final WorkflowMetrics workflowMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxTasks;
+
+    public BulkTaskService(CmmnTaskService cmmnTaskService,
+                           CmmnRuntimeService cmmnRuntimeService,
+                           UserService userService,
+                           WorkflowMetrics workflowMetrics,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.bulk-tasks.chunk-size:50}") int chunkSize,
+                           @Value("${app.bulk-tasks.max-tasks:1000}") int maxTasks) {
+        this.cmmnTaskService = cmmnTaskService;
+        this.cmmnRuntimeService = cmmnRuntimeService;
+        this.userService = userService;
+        this.workflowMetrics = workflowMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxTasks = maxTasks;
+    }
+
+    /**
+     * Completes the given review tasks with the same decision.
+     *
+     * @throws IllegalArgumentException for an empty message or an empty/oversized task list
+     */
+    public BulkResult completeReviews(String reviewerId, List<String> taskIds, boolean approved, String message) {
+        if (message == null || message.isBlank()) {
+            throw new IllegalArgumentException("A review message is required");
+        }
+        List<String> ids = distinct(taskIds);
+        List<TaskOutcome> outcomes = new ArrayList<>(ids.size());
+
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<String> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            Map<String, Task> tasks = cmmnTaskService.createTaskQuery().taskIds(chunk).list().stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+            List<Task> eligible = new ArrayList<>(chunk.size());
+            for (String id : chunk) {
+                Task task = tasks.get(id);
+                if (task == null) {
+                    outcomes.add(new TaskOutcome(id, null, Status.FAILED, "Task not found"));
+                } else if (!REVIEW_TASK.equals(task.getTaskDefinitionKey())) {
+                    outcomes.add(new TaskOutcome(id, task.getScopeId(), Status.SKIPPED, "Not a review task"));
+                } else if (!reviewerId.equals(task.getAssignee())) {
+                    outcomes.add(new TaskOutcome(id, task.getScopeId(), Status.SKIPPED, "Not assigned to " + reviewerId));
+                } else {
+                    eligible.add(task);
+                }
+            }
+
+            List<TaskOutcome> processed = process(eligible, Status.COMPLETED,
+                task -> cmmnTaskService.complete(task.getId(), FlowableCmmnService.reviewVariables(approved, message)));
+            processed.stream()
+                .filter(outcome -> outcome.status() == Status.COMPLETED)
+                .forEach(outcome -> FlowableCmmnService.recordReviewOutcome(workflowMetrics, approved, message));
+            outcomes.addAll(processed);
+        }
+
+        BulkResult result = BulkResult.of(outcomes);
+        log.info("Bulk review by {} ({}): {} completed, {} not completed",
+            reviewerId, approved ? "APPROVED" : "REJECTED", result.succeeded(), result.failed());
+        return result;
+    }
+
+    /**
+     * Reassigns every task currently assigned to {@code fromUserId}, up to the configured
+     * maximum. Tasks whose stage belongs to a different role than the target user's are skipped.
+     *
+     * @throws IllegalArgumentException if the target user does not exist or is the same user
+     */
+    public BulkResult reassignOpenTasks(String fromUserId, String toUserId) {
+        User target = userService.findById(toUserId);
+        if (target == null) {
+            throw new IllegalArgumentException("User not found: " + toUserId);
+        }
+        if (fromUserId.equals(toUserId)) {
+            throw new IllegalArgumentException("Source and target user are the same");
+        }
+
+        // Snapshot first: reassigned tasks drop out of the assignee query, which would shift pages.
+        // One task past the limit is read only to tell whether the handover is complete.
+        List<Task> open = new ArrayList<>();
+        for (int offset = 0; open.size() <= maxTasks; offset += chunkSize) {
+            int wanted = Math.min(chunkSize, maxTasks + 1 - open.size());
+            List<Task> page = cmmnTaskService.createTaskQuery()
+                .taskAssignee(fromUserId)
+                .orderByTaskId().asc()
+                .listPage(offset, wanted);
+            open.addAll(page);
+            if (page.size() < wanted) {
+                break;
+            }
+        }
+        boolean truncated = open.size() > maxTasks;
+        if (truncated) {
+            open = open.subList(0, maxTasks);
+        }
+
+        List<TaskOutcome> outcomes = new ArrayList<>(open.size());
+        for (int from = 0; from < open.size(); from += chunkSize) {
+            List<Task> eligible = new ArrayList<>(chunkSize);
+            for (Task task : open.subList(from, Math.min(from + chunkSize, open.size()))) {
+                TaskRole role = TASK_ROLES.get(task.getTaskDefinitionKey());
+                if (role != null && !role.userRole().equals(target.getRole())) {
+                    outcomes.add(new TaskOutcome(task.getId(), task.getScopeId(), Status.SKIPPED,
+                        toUserId + " is not a " + role.userRole()));
+                } else {
+                    eligible.add(task);
+                }
+            }
+            outcomes.addAll(process(eligible, Status.REASSIGNED, task -> reassign(task, toUserId)));
+        }
+
+        BulkResult result = BulkResult.of(outcomes, truncated);
+        log.info("Reassigned {} open tasks from {} to {} ({} not reassigned{})",
+            result.succeeded(), fromUserId, toUserId, result.failed(),
+            truncated ? ", more than " + maxTasks + " open - run again for the rest" : "");
+        return result;
+    }
+
+    private void reassign(Task task, String toUserId) {
+        cmmnTaskService.setAssignee(task.getId(), toUserId);
+        TaskRole role = TASK_ROLES.get(task.getTaskDefinitionKey());
+        if (role != null && task.getScopeId() != null) {
+            cmmnRuntimeService.setVariable(task.getScopeId(), role.caseVariable(), toUserId);
+        }
+    }
+
+    private List<TaskOutcome> process(List<Task> tasks, Status success, Consumer<Task> action) {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> tasks.forEach(action));
+            return tasks.stream()
+                .map(task -> new TaskOutcome(task.getId(), task.getScopeId(), success, null))
+                .toList();
+        } catch (RuntimeException e) {
+            log.warn("Bulk chunk of {} tasks failed ({}) - retrying tasks individually", tasks.size(), e.getMessage());
+        }
+
+        List<TaskOutcome> outcomes = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> action.accept(task));
+                outcomes.add(new TaskOutcome(task.getId(), task.getScopeId(), success, null));
+            } catch (RuntimeException e) {
+                outcomes.add(new TaskOutcome(task.getId(), task.getScopeId(), Status.FAILED, e.getMessage()));
+            }
+        }
+        return outcomes;
+    }
+
+    private List<String> distinct(List<String> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            throw new IllegalArgumentException("No task ids given");
+        }
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(taskIds));
+        if (ids.size() > maxTasks) {
+            throw new IllegalArgumentException("At most " + maxTasks + " tasks per request");
+        }
+        return ids;
+    }
+
+    /** User role allowed to take over a task, and the case variable naming that task's assignee */
+    private record TaskRole(String userRole, String caseVariable) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record TaskOutcome(String taskId, String caseInstanceId, Status status, String message) {
+    }
+
+    /**
+     * @param truncated true if the request hit app.bulk-tasks.max-tasks and further tasks were
+     *                  left untouched (and unlisted)
+     */
+    public record BulkResult(int succeeded, int failed, boolean truncated, List<TaskOutcome> outcomes) {
+        static BulkResult of(List<TaskOutcome> outcomes) {
+            return of(outcomes, false);
+        }
+
+        static BulkResult of(List<TaskOutcome> outcomes, boolean truncated) {
+            int succeeded = (int) outcomes.stream()
+                .filter(outcome -> outcome.status() == Status.COMPLETED || outcome.status() == Status.REASSIGNED)
+                .count();
+            return new BulkResult(succeeded, outcomes.size() - succeeded, truncated, outcomes);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.Workflow;
+import com.br.workflow_cmmn.repository.WorkflowRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.cmmn.api.CmmnRepositoryService;
+import org.flowable.cmmn.api.repository.CaseDefinition;
+import org.flowable.cmmn.api.repository.CmmnDeployment;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CaseDeploymentManager - Deploys CMMN definitions only when their content changed
+ *
+ * SOURCES:
+ * - Classpath resources matching app.deployment.resources (replaces flowable.cmmn.deploy-resources),
+ *   one deployment key per file name
+ * - Workflow rows: definitions are deployed when saved through WorkflowService; rows written
+ *   directly (sample data, older rows) are picked up by a background sweep after startup
+ *
+ * CHANGE DETECTION:
+ * - Every deployment carries the SHA-256 of its content as its category; a resource whose hash
+ *   matches the latest deployment with its key is not deployed again
+ * - Workflow rows keep definitionHash (maintained by the entity) and deployedHash, so the sweep
+ *   only loads rows whose content changed since their last deployment
+ *
+ * STARTUP:
+ * - Only the classpath resources are checked before the application starts serving
+ * - The sweep and the warm-up of the engine's parsed-definition cache (latest version of each
+ *   case definition, app.deployment.warm-up-threads in parallel) run in the background, so
+ *   startup time does not grow with the number of stored definitions
+ */
+@Slf4j
+@Service
+public class CaseDeploymentManager implements SmartInitializingSingleton {
+    private static final String WORKFLOW_KEY_PREFIX = "workflow-";
+
+    private final CmmnRepositoryService cmmnRepositoryService;
+    private final WorkflowRepository workflowRepository;
+    private final ResourceLoader resourceLoader;
+    private final String resourcePattern;
+    private final int warmUpThreads;
+
+    public CaseDeploymentManager(CmmnRepositoryService cmmnRepositoryService,
+                                 WorkflowRepository workflowRepository,
+                                 ResourceLoader resourceLoader,
+                                 @Value("${app.deployment.resources:classpath*:/processes/**/*.cmmn}") String resourcePattern,
+                                 @Value("${app.deployment.warm-up-threads:4}") int warmUpThreads) {
+        this.cmmnRepositoryService = cmmnRepositoryService;
+        this.workflowRepository = workflowRepository;
+        this.resourceLoader = resourceLoader;
+        this.resourcePattern = resourcePattern;
+        this.warmUpThreads = warmUpThreads;
+    }
+
+    /**
+     * Runs before any runner or request can start a case, so bundled definitions are in place.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.nanoTime();
+        Resource[] resources;
+        try {
+            resources = ResourcePatternUtils.getResourcePatternResolver(resourceLoader).getResources(resourcePattern);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot resolve " + resourcePattern, e);
+        }
+
+        int deployed = 0;
+        for (Resource resource : resources) {
+            String fileName = resource.getFilename();
+            if (fileName == null) {
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                byte[] content = in.readAllBytes();
+                if (deployIfChanged(fileName, fileName, fileName, content) != null) {
+                    deployed++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read " + resource, e);
+            }
+        }
+        log.info("Checked {} CMMN resources in {} ms, {} deployed",
+            resources.length, (System.nanoTime() - started) / 1_000_000, deployed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread background = new Thread(() -> {
+            deployPendingWorkflows();
+            warmUpCache();
+        }, "case-deployment");
+        background.setDaemon(true);
+        background.start();
+    }
+
+    /**
+     * Deploys the workflow's definition if it changed since its last deployment and records the
+     * outcome on the row. An invalid definition is logged and not retried until it changes.
+     *
+     * @return the deployment id, or null if nothing was deployed
+     */
+    public String deploy(Workflow workflow) {
+        if (workflow.getDefinitionHash() == null || workflow.getDefinitionHash().equals(workflow.getDeployedHash())) {
+            return null;
+        }
+        String key = WORKFLOW_KEY_PREFIX + workflow.getId();
+        String deploymentId = null;
+        try {
+            deploymentId = deployIfChanged(key, workflow.getName(), key + ".cmmn",
+                workflow.getWorkflowDefinition().getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            log.warn("Definition of workflow {} ({}) was rejected by the engine: {}",
+                workflow.getId(), workflow.getName(), e.getMessage());
+        }
+        if (workflowRepository.markDeployed(workflow.getId(), workflow.getDefinitionHash(), deploymentId) == 1) {
+            workflow.setDeployedHash(workflow.getDefinitionHash());
+            workflow.setDeploymentId(deploymentId);
+        }
+        return deploymentId;
+    }
+
+    private void deployPendingWorkflows() {
+        List<Workflow> pending = workflowRepository.findPendingDeployment();
+        int deployed = 0;
+        for (Workflow workflow : pending) {
+            if (deploy(workflow) != null) {
+                deployed++;
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("Deployed {} of {} changed workflow definitions", deployed, pending.size());
+        }
+    }
+
+    private void warmUpCache() {
+        long started = System.nanoTime();
+        List<CaseDefinition> definitions = cmmnRepositoryService.createCaseDefinitionQuery().latestVersion().list();
+        AtomicInteger count = new AtomicInteger();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, warmUpThreads), runnable -> {
+            Thread thread = new Thread(runnable, "case-cache-warm-up-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (CaseDefinition definition : definitions) {
+            workers.execute(() -> {
+                try {
+                    // Resolving the model parses the definition into the engine's deployment cache
+                    cmmnRepositoryService.getCmmnModel(definition.getId());
+                    count.incrementAndGet();
+                } catch (RuntimeException e) {
+                    log.debug("Could not warm up case definition {}: {}", definition.getKey(), e.getMessage());
+                }
+            });
+        }
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Warmed up {} of {} case definitions in {} ms",
+            count.get(), definitions.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * @return the new deployment id, or null if the latest deployment with this key has the same content
+     */
+    private String deployIfChanged(String key, String name, String resourceName, byte[] content) {
+        String hash = sha256(content);
+        CmmnDeployment latest = cmmnRepositoryService.createDeploymentQuery()
+            .deploymentKey(key)
+            .orderByDeploymenTime().desc()
+            .listPage(0, 1).stream()
+            .findFirst()
+            .orElse(null);
+        if (latest != null && hash.equals(latest.getCategory())) {
+            log.debug("{} unchanged since deployment {}", key, latest.getId());
+            return null;
+        }
+
+        CmmnDeployment deployment = cmmnRepositoryService.createDeployment()
+            .key(key)
+            .name(name)
+            .category(hash)
+            .addBytes(resourceName, content)
+            .deploy();
+        log.info("Deployed {} as {} (content hash {})", key, deployment.getId(), hash.substring(0, 12));
+        return deployment.getId();
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
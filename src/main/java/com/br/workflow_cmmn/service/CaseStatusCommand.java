@@ -0,0 +1,122 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.CaseStatus;
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
+import org.flowable.common.engine.api.FlowableException;
+import org.flowable.common.engine.api.scope.ScopeTypes;
+import org.flowable.common.engine.impl.db.DbSqlSession;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.variable.api.persistence.entity.VariableInstance;
+import org.flowable.variable.service.InternalVariableInstanceQuery;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link CaseStatus} projections for a set of cases in one engine command.
+ *
+ * Three reads regardless of the number of cases: the cases themselves, their case-level
+ * variables (restricted to the requested names) and their open task counts, grouped by case
+ * in the database. The results are joined in memory. A null name set reads all variables.
+ */
+class CaseStatusCommand implements Command<List<CaseStatus>> {
+    private final List<String> caseIds;
+    private final Collection<String> variableNames;
+
+    CaseStatusCommand(List<String> caseIds, Collection<String> variableNames) {
+        this.caseIds = caseIds;
+        this.variableNames = variableNames;
+    }
+
+    @Override
+    public List<CaseStatus> execute(CommandContext commandContext) {
+        CmmnEngineConfiguration engineConfiguration = CommandContextUtil.getCmmnEngineConfiguration(commandContext);
+
+        Map<String, CaseInstance> cases = engineConfiguration.getCmmnRuntimeService().createCaseInstanceQuery()
+            .caseInstanceIds(Set.copyOf(caseIds))
+            .list().stream()
+            .collect(Collectors.toMap(CaseInstance::getId, Function.identity()));
+        if (cases.isEmpty()) {
+            return caseIds.stream().map(CaseStatus::notFound).toList();
+        }
+
+        Map<String, Map<String, Object>> variables = variablesByCase(engineConfiguration, cases.keySet());
+        Map<String, Long> activeTasks = openTaskCounts(commandContext, engineConfiguration, cases.keySet());
+
+        List<CaseStatus> statuses = new ArrayList<>(caseIds.size());
+        for (String caseId : caseIds) {
+            CaseInstance caseInstance = cases.get(caseId);
+            if (caseInstance == null) {
+                statuses.add(CaseStatus.notFound(caseId));
+                continue;
+            }
+            statuses.add(new CaseStatus(caseId, caseInstance.getName(), caseInstance.getState(),
+                variables.getOrDefault(caseId, Collections.emptyMap()), activeTasks.getOrDefault(caseId, 0L), null));
+        }
+        return statuses;
+    }
+
+    /**
+     * Case-level variables (no plan item scope) of all cases in one query.
+     */
+    private Map<String, Map<String, Object>> variablesByCase(CmmnEngineConfiguration engineConfiguration,
+                                                             Set<String> caseIds) {
+        InternalVariableInstanceQuery query = engineConfiguration.getVariableServiceConfiguration().getVariableService()
+            .createInternalVariableInstanceQuery()
+            .scopeIds(caseIds)
+            .scopeType(ScopeTypes.CMMN)
+            .withoutSubScopeId();
+        if (variableNames != null) {
+            query.names(variableNames);
+        }
+        Map<String, Map<String, Object>> byCase = new HashMap<>();
+        for (VariableInstance variable : query.list()) {
+            byCase.computeIfAbsent(variable.getScopeId(), id -> new HashMap<>())
+                .put(variable.getName(), variable.getValue());
+        }
+        return byCase;
+    }
+
+    /**
+     * Open task counts of all cases in one grouped query on the engine's connection; the task
+     * query API can only count one case at a time.
+     */
+    private static Map<String, Long> openTaskCounts(CommandContext commandContext,
+                                                    CmmnEngineConfiguration engineConfiguration, Set<String> caseIds) {
+        String placeholders = String.join(",", Collections.nCopies(caseIds.size(), "?"));
+        String sql = "select SCOPE_ID_, count(*) from " + engineConfiguration.getDatabaseTablePrefix() + "ACT_RU_TASK "
+            + "where SCOPE_TYPE_ = ? and SCOPE_ID_ in (" + placeholders + ") group by SCOPE_ID_";
+        Connection connection = commandContext.getSession(DbSqlSession.class).getSqlSession().getConnection();
+
+        Map<String, Long> counts = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            statement.setString(index++, ScopeTypes.CMMN);
+            for (String caseId : caseIds) {
+                statement.setString(index++, caseId);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    counts.put(rows.getString(1), rows.getLong(2));
+                }
+            }
+        } catch (SQLException e) {
+            throw new FlowableException("Could not count open tasks of " + caseIds.size() + " cases", e);
+        }
+        return counts;
+    }
+}
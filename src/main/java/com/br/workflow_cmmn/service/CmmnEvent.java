@@ -0,0 +1,43 @@
+package com.br.workflow_cmmn.service;
+
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.common.engine.api.delegate.event.FlowableEngineEntityEvent;
+import org.flowable.common.engine.api.delegate.event.FlowableEvent;
+import org.flowable.job.api.Job;
+import org.flowable.task.api.Task;
+
+import java.util.Date;
+
+/**
+ * Compact, immutable copy of a Flowable engine event, safe to hand to other threads after
+ * the engine has moved on. {@code publishedNanos} is used to measure dispatch lag.
+ * Task timestamps are epoch millis, 0 when absent, to avoid boxing on the engine thread.
+ * For jobs, name is the job handler type and createdMillis the job creation time.
+ */
+public record CmmnEvent(String type, String entityId, String caseInstanceId, String assignee,
+                        String name, String definitionKey, long createdMillis, long claimedMillis,
+                        long dueMillis, long publishedNanos) {
+
+    public static CmmnEvent from(FlowableEvent event) {
+        String type = event.getType() != null ? event.getType().name() : "UNKNOWN";
+        Object entity = event instanceof FlowableEngineEntityEvent entityEvent ? entityEvent.getEntity() : null;
+        if (entity instanceof Task task) {
+            return new CmmnEvent(type, task.getId(), task.getScopeId(), task.getAssignee(), task.getName(),
+                task.getTaskDefinitionKey(), millis(task.getCreateTime()), millis(task.getClaimTime()),
+                millis(task.getDueDate()), System.nanoTime());
+        }
+        if (entity instanceof CaseInstance caseInstance) {
+            return new CmmnEvent(type, caseInstance.getId(), caseInstance.getId(), null, caseInstance.getName(),
+                caseInstance.getCaseDefinitionKey(), millis(caseInstance.getStartTime()), 0, 0, System.nanoTime());
+        }
+        if (entity instanceof Job job) {
+            return new CmmnEvent(type, job.getId(), job.getScopeId(), null, job.getJobHandlerType(),
+                job.getElementId(), millis(job.getCreateTime()), 0, 0, System.nanoTime());
+        }
+        return new CmmnEvent(type, null, null, null, null, null, 0, 0, 0, System.nanoTime());
+    }
+
+    private static long millis(Date date) {
+        return date != null ? date.getTime() : 0;
+    }
+}
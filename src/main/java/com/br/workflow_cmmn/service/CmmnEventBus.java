@@ -0,0 +1,256 @@
+package com.br.workflow_cmmn.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * CmmnEventBus - Decouples engine event listeners from downstream consumers
+ *
+ * DISPATCH MODEL:
+ * - Each {@link CmmnEventSubscriber} owns a bounded, lock-free ring buffer and one daemon thread
+ * - {@link #publish} runs on the engine thread: it copies the event into every interested
+ *   subscriber's ring with a single CAS each and returns; it never blocks on a consumer
+ * - Consumer threads drain their ring and call the subscriber; an idle consumer spins and
+ *   yields briefly, then parks until a publisher unparks it, so quiet subscribers cost no CPU
+ *
+ * BACKPRESSURE (app.events.overflow-policy):
+ * - DROP: a full ring drops the new event immediately (default, engine latency first)
+ * - WAIT: the engine thread waits up to app.events.max-wait for space, then drops
+ *
+ * Every subscriber reports delivered, dropped, failed and delayed (dispatch lag above
+ * app.events.delay-threshold) counts, plus its current backlog and maximum lag.
+ */
+@Slf4j
+@Component
+public class CmmnEventBus {
+    public enum OverflowPolicy { DROP, WAIT }
+
+    private final List<Channel> channels = new ArrayList<>();
+    private final OverflowPolicy overflowPolicy;
+    private final long maxWaitNanos;
+    private final long delayThresholdNanos;
+    private volatile boolean running = true;
+
+    public CmmnEventBus(List<CmmnEventSubscriber> subscribers,
+                        @Value("${app.events.ring-size:8192}") int ringSize,
+                        @Value("${app.events.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                        @Value("${app.events.max-wait:PT0.005S}") Duration maxWait,
+                        @Value("${app.events.delay-threshold:PT1S}") Duration delayThreshold) {
+        this.overflowPolicy = overflowPolicy;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.delayThresholdNanos = delayThreshold.toNanos();
+        for (CmmnEventSubscriber subscriber : subscribers) {
+            channels.add(new Channel(subscriber, ringSize));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        for (Channel channel : channels) {
+            Thread thread = new Thread(channel::run, "cmmn-events-" + channel.subscriber.getName());
+            thread.setDaemon(true);
+            channel.thread = thread;
+            thread.start();
+        }
+        log.info("CMMN event bus started with subscribers {}",
+                channels.stream().map(channel -> channel.subscriber.getName()).toList());
+    }
+
+    /**
+     * Hands an event to every interested subscriber without waiting for any of them
+     * (unless the WAIT policy is configured and a ring is full).
+     */
+    public void publish(CmmnEvent event) {
+        for (Channel channel : channels) {
+            if (!channel.subscriber.accepts(event.type())) {
+                continue;
+            }
+            if (channel.ring.offer(event) || (overflowPolicy == OverflowPolicy.WAIT && offerWithin(channel, event))) {
+                channel.wake();
+                continue;
+            }
+            channel.dropped.increment();
+            log.debug("Event {} dropped for subscriber {} - ring full", event.type(), channel.subscriber.getName());
+        }
+    }
+
+    public List<Stats> getStats() {
+        return channels.stream().map(Channel::stats).toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Channel channel : channels) {
+            if (channel.thread != null) {
+                LockSupport.unpark(channel.thread);
+            }
+        }
+    }
+
+    private boolean offerWithin(Channel channel, CmmnEvent event) {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000);
+            if (channel.ring.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record Stats(String subscriber, long delivered, long dropped, long delayed, long failed,
+                        long backlog, long maxLagMillis) {
+    }
+
+    /** Upper bound on an idle park, only a safety net: publishers unpark waiting consumers */
+    private static final long IDLE_PARK_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final class Channel {
+        private final CmmnEventSubscriber subscriber;
+        private final Ring ring;
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder delayed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0);
+        private volatile Thread thread;
+        private volatile boolean waiting;
+
+        private Channel(CmmnEventSubscriber subscriber, int ringSize) {
+            this.subscriber = subscriber;
+            this.ring = new Ring(ringSize);
+        }
+
+        private void run() {
+            int idle = 0;
+            while (running) {
+                CmmnEvent event = ring.poll();
+                if (event == null) {
+                    idle = backOff(idle);
+                    continue;
+                }
+                idle = 0;
+                long lag = System.nanoTime() - event.publishedNanos();
+                maxLagNanos.accumulate(lag);
+                if (lag > delayThresholdNanos) {
+                    delayed.increment();
+                }
+                try {
+                    subscriber.onEvent(event);
+                    delivered.increment();
+                } catch (Exception e) {
+                    failed.increment();
+                    log.warn("Subscriber {} failed on event {}", subscriber.getName(), event.type(), e);
+                }
+            }
+        }
+
+        private int backOff(int idle) {
+            if (idle < 100) {
+                Thread.onSpinWait();
+                return idle + 1;
+            }
+            if (idle < 200) {
+                Thread.yield();
+                return idle + 1;
+            }
+            // Announce the park before the final emptiness check; a publisher writes the slot
+            // before reading the flag, so one of the two always sees the other
+            waiting = true;
+            if (ring.isEmpty() && running) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            waiting = false;
+            return 0;
+        }
+
+        private void wake() {
+            if (waiting) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        private Stats stats() {
+            return new Stats(subscriber.getName(), delivered.sum(), dropped.sum(), delayed.sum(), failed.sum(),
+                    ring.size(), Duration.ofNanos(maxLagNanos.get()).toMillis());
+        }
+    }
+
+    /**
+     * Bounded multi-producer, single-consumer ring. Each slot carries a sequence number:
+     * producers claim a position with one CAS on the tail and publish the slot by advancing
+     * its sequence; the consumer frees the slot by moving its sequence one lap ahead.
+     */
+    static final class Ring {
+        private final CmmnEvent[] buffer;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long head;
+
+        Ring(int requestedCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+            this.buffer = new CmmnEvent[capacity];
+            this.sequences = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(CmmnEvent event) {
+            long position = tail.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        buffer[index] = event;
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+        }
+
+        CmmnEvent poll() {
+            long position = head;
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                return null;
+            }
+            CmmnEvent event = buffer[index];
+            buffer[index] = null;
+            sequences.set(index, position + buffer.length);
+            head = position + 1;
+            return event;
+        }
+
+        boolean isEmpty() {
+            long position = head;
+            return sequences.get((int) (position & mask)) != position + 1;
+        }
+
+        long size() {
+            return Math.max(0, tail.get() - head);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.br.workflow_cmmn.service;
+
+/**
+ * Downstream consumer of CMMN engine events. Every subscriber bean gets its own ring buffer
+ * and dispatch thread in {@link CmmnEventBus}, so a slow subscriber only delays itself.
+ */
+public interface CmmnEventSubscriber {
+
+    String getName();
+
+    /**
+     * Filter applied on the engine thread before an event is queued for this subscriber.
+     */
+    default boolean accepts(String eventType) {
+        return true;
+    }
+
+    void onEvent(CmmnEvent event);
+}
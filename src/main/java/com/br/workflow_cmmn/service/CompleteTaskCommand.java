@@ -0,0 +1,87 @@
+package com.br.workflow_cmmn.service;
+
+import org.flowable.cmmn.engine.impl.persistence.entity.CaseInstanceEntity;
+import org.flowable.cmmn.engine.impl.util.CommandContextUtil;
+import org.flowable.common.engine.impl.interceptor.Command;
+import org.flowable.common.engine.impl.interceptor.CommandContext;
+import org.flowable.task.service.impl.persistence.entity.TaskEntity;
+
+import java.util.Map;
+
+/**
+ * Validates and completes a human task in a single engine command.
+ *
+ * The task is fetched once; the nested complete call reuses this command context, so it finds
+ * the task (and the case instance, if a previous variable was read) in the entity cache, and
+ * all changes are flushed together when the command closes. Runs inside the caller's Spring
+ * transaction when there is one.
+ *
+ * For a task that writes a stored document path, the new blob is retained and the one it
+ * replaces released in the same command, so the reference counts commit or roll back with
+ * the completion and a crash can never leave a live document unreferenced.
+ */
+class CompleteTaskCommand implements Command<CompleteTaskCommand.Completed> {
+    private final String taskId;
+    private final String definitionKey;
+    private final String userId;
+    private final Map<String, Object> variables;
+    private final String documentVariable;
+    private final DocumentStore documentStore;
+
+    /**
+     * @param definitionKey plan item the task must belong to
+     * @param userId        user that must be the assignee, or null to skip the check
+     */
+    CompleteTaskCommand(String taskId, String definitionKey, String userId, Map<String, Object> variables) {
+        this(taskId, definitionKey, userId, variables, null, null);
+    }
+
+    /**
+     * @param documentVariable case variable holding a stored document path that this completion
+     *                         sets; its references are moved in {@code documentStore}
+     */
+    CompleteTaskCommand(String taskId, String definitionKey, String userId, Map<String, Object> variables,
+                        String documentVariable, DocumentStore documentStore) {
+        this.taskId = taskId;
+        this.definitionKey = definitionKey;
+        this.userId = userId;
+        this.variables = variables;
+        this.documentVariable = documentVariable;
+        this.documentStore = documentStore;
+    }
+
+    @Override
+    public Completed execute(CommandContext commandContext) {
+        TaskEntity task = CommandContextUtil.getTaskService(commandContext).getTask(taskId);
+        if (task == null) {
+            throw new IllegalArgumentException("Task not found: " + taskId);
+        }
+        if (!definitionKey.equals(task.getTaskDefinitionKey())) {
+            throw new IllegalArgumentException("Task " + taskId + " is not a " + definitionKey + " task");
+        }
+        if (userId != null && !userId.equals(task.getAssignee())) {
+            throw new IllegalStateException("Task " + taskId + " is not assigned to " + userId);
+        }
+
+        Object previous = null;
+        if (documentVariable != null && task.getScopeId() != null) {
+            CaseInstanceEntity caseInstance = CommandContextUtil.getCaseInstanceEntityManager(commandContext)
+                .findById(task.getScopeId());
+            previous = caseInstance != null ? caseInstance.getVariable(documentVariable) : null;
+        }
+
+        CommandContextUtil.getCmmnEngineConfiguration(commandContext).getCmmnTaskService().complete(taskId, variables);
+
+        // The store's updates join the transaction this command runs in
+        if (documentVariable != null && variables.get(documentVariable) instanceof String path) {
+            documentStore.hashOf(path).ifPresent(documentStore::retain);
+        }
+        if (previous instanceof String previousPath) {
+            documentStore.hashOf(previousPath).ifPresent(documentStore::release);
+        }
+        return new Completed(task.getScopeId());
+    }
+
+    record Completed(String caseInstanceId) {
+    }
+}
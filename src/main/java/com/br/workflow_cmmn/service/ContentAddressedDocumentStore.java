@@ -0,0 +1,192 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.StoredBlob;
+import com.br.workflow_cmmn.repository.StoredBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * ContentAddressedDocumentStore - {@link DocumentStore} on the local file system
+ *
+ * LAYOUT:
+ * uploads/blobs/ab/cd/abcd...  (two-level shard on the first 4 hex chars of the SHA-256)
+ * uploads/blobs/.staging/      (temp files while the hash is being computed)
+ *
+ * Writes, dedup checks and purges for the same hash are serialized through a striped lock,
+ * so a purge can never delete a blob that a concurrent upload has just deduplicated against.
+ */
+@Slf4j
+@Service
+public class ContentAddressedDocumentStore implements DocumentStore {
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final int LOCK_STRIPES = 64;
+
+    private final FileStorageService fileStorageService;
+    private final StoredBlobRepository storedBlobRepository;
+    private final Path blobRoot;
+    private final Path relativeBlobRoot;
+    private final Path stagingDir;
+    private final Duration purgeGracePeriod;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final LongAdder deduplicatedWrites = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    public ContentAddressedDocumentStore(FileStorageService fileStorageService,
+                                         StoredBlobRepository storedBlobRepository,
+                                         @Value("${app.storage.purge-grace-period:PT1H}") Duration purgeGracePeriod) {
+        this.fileStorageService = fileStorageService;
+        this.storedBlobRepository = storedBlobRepository;
+        this.relativeBlobRoot = fileStorageService.getUploadRoot().resolve("blobs");
+        this.blobRoot = relativeBlobRoot.toAbsolutePath().normalize();
+        this.stagingDir = blobRoot.resolve(".staging");
+        this.purgeGracePeriod = purgeGracePeriod;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public StoredDocument put(InputStream content) throws IOException {
+        FileStorageService.StoredFile staged = fileStorageService.stage(content, stagingDir);
+        String hash = staged.sha256();
+        Path target = pathFor(hash);
+
+        synchronized (lockFor(hash)) {
+            boolean deduplicated = Files.exists(target);
+            if (deduplicated) {
+                fileStorageService.discard(staged);
+                deduplicatedWrites.increment();
+                bytesSaved.add(staged.size());
+                log.debug("Deduplicated upload against existing blob {}", hash);
+            } else {
+                fileStorageService.commit(staged, target);
+            }
+
+            // Registering (or touching) the row under the lock keeps a concurrent purge from
+            // removing the blob before the caller gets to retain it
+            StoredBlob blob = storedBlobRepository.findById(hash).orElseGet(() -> {
+                StoredBlob created = new StoredBlob();
+                created.setHash(hash);
+                created.setSize(staged.size());
+                created.setCreatedAt(LocalDateTime.now());
+                return created;
+            });
+            blob.setLastReferencedAt(LocalDateTime.now());
+            storedBlobRepository.save(blob);
+
+            // Callers persist this path in case variables, so keep it relative to the working directory
+            return new StoredDocument(hash, shardedPath(relativeBlobRoot, hash), staged.size(), deduplicated);
+        }
+    }
+
+    @Override
+    public Optional<Path> resolve(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathFor(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    @Override
+    public Optional<String> hashOf(String storedPath) {
+        if (storedPath == null) {
+            return Optional.empty();
+        }
+        Path path = Paths.get(storedPath).toAbsolutePath().normalize();
+        String name = path.getFileName() != null ? path.getFileName().toString() : "";
+        if (!path.startsWith(blobRoot) || !HASH.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(name);
+    }
+
+    @Override
+    public boolean isReferenced(String hash) {
+        return storedBlobRepository.findById(hash)
+            .map(blob -> blob.getRefCount() > 0)
+            .orElse(false);
+    }
+
+    @Override
+    @Transactional
+    public void retain(String hash) {
+        if (storedBlobRepository.incrementRefCount(hash, LocalDateTime.now()) == 0) {
+            log.warn("Retain requested for unknown blob {}", hash);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(String hash) {
+        // Releasing counts as a reference, so the grace period starts when the last holder lets go
+        storedBlobRepository.decrementRefCount(hash, LocalDateTime.now());
+    }
+
+    /**
+     * Deletes blobs that have had no references for longer than the grace period.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.storage.purge-interval:PT1H}")
+    public int purgeUnreferenced() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(purgeGracePeriod);
+        int purged = 0;
+        for (StoredBlob candidate : storedBlobRepository.findByRefCountAndLastReferencedAtBefore(0, cutoff)) {
+            String hash = candidate.getHash();
+            synchronized (lockFor(hash)) {
+                // Re-read under the lock: the blob may have been retained or re-uploaded meanwhile
+                Optional<StoredBlob> current = storedBlobRepository.findById(hash);
+                if (current.isEmpty() || current.get().getRefCount() > 0
+                        || current.get().getLastReferencedAt().isAfter(cutoff)) {
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(pathFor(hash));
+                    storedBlobRepository.delete(current.get());
+                    purged++;
+                } catch (IOException e) {
+                    log.warn("Failed to purge blob {}", hash, e);
+                }
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} unreferenced document blobs", purged);
+        }
+        return purged;
+    }
+
+    public long getDeduplicatedWrites() {
+        return deduplicatedWrites.sum();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    private Path pathFor(String hash) {
+        return shardedPath(blobRoot, hash);
+    }
+
+    private static Path shardedPath(Path root, String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+}
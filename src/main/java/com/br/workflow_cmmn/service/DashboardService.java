@@ -0,0 +1,148 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.CursorPage;
+import com.br.workflow_cmmn.model.Notification;
+import com.br.workflow_cmmn.model.User;
+import com.br.workflow_cmmn.model.WorkflowInstance;
+import com.br.workflow_cmmn.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.task.api.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * DashboardService - Assembles dashboard models from independent data sources
+ *
+ * Each source (user lookup, user list, task/case pages, count queries, unread notifications,
+ * upcoming scheduled workflows) is executed concurrently on the bounded elastic scheduler
+ * with its own timeout budget, so page latency is the slowest source rather than the sum
+ * of all of them. A source that fails or times out is
+ * replaced by an empty fallback and reported in the "degradedSources" model attribute
+ * instead of failing the whole page.
+ */
+@Slf4j
+@Service
+public class DashboardService {
+    private final UserService userService;
+    private final FlowableCmmnService flowableCmmnService;
+    private final NotificationRepository notificationRepository;
+    private final WorkflowExecutionService workflowExecutionService;
+    private final Duration sourceTimeout;
+    private final int pageSize;
+    private final Scheduler scheduler;
+
+    public DashboardService(UserService userService, FlowableCmmnService flowableCmmnService,
+                            NotificationRepository notificationRepository,
+                            WorkflowExecutionService workflowExecutionService,
+                            @Value("${app.dashboard.source-timeout:PT2S}") Duration sourceTimeout,
+                            @Value("${app.dashboard.page-size:25}") int pageSize) {
+        this.userService = userService;
+        this.flowableCmmnService = flowableCmmnService;
+        this.notificationRepository = notificationRepository;
+        this.workflowExecutionService = workflowExecutionService;
+        this.sourceTimeout = sourceTimeout;
+        this.pageSize = pageSize;
+        this.scheduler = Schedulers.boundedElastic();
+    }
+
+    public Map<String, Object> adminDashboard(String userId, String taskCursor, String caseCursor) {
+        List<String> degraded = new CopyOnWriteArrayList<>();
+        CursorPage<Task> emptyTasks = new CursorPage<>(Collections.emptyList(), null, false);
+        CursorPage<CaseInstance> emptyCases = new CursorPage<>(Collections.emptyList(), null, false);
+
+        Map<String, Object> model = Mono.zip(
+                source("user", () -> Optional.ofNullable(userService.findById(userId)), Optional.<User>empty(), degraded),
+                source("allUsers", userService::findAll, Collections.<User>emptyList(), degraded),
+                source("tasks", () -> flowableCmmnService.getActiveTasksPage(taskCursor, pageSize), emptyTasks, degraded),
+                source("cases", () -> flowableCmmnService.getCaseInstancesPage(caseCursor, pageSize), emptyCases, degraded),
+                source("taskCount", flowableCmmnService::countActiveTasks, -1L, degraded),
+                source("caseCount", flowableCmmnService::countCaseInstances, -1L, degraded),
+                source("notifications", () -> unreadNotifications(userId), Collections.<Notification>emptyList(), degraded))
+            .map(sources -> {
+                List<User> allUsers = sources.getT2();
+                CursorPage<Task> tasks = sources.getT3();
+                CursorPage<CaseInstance> cases = sources.getT4();
+
+                Map<String, Object> attributes = new HashMap<>();
+                attributes.put("user", sources.getT1().orElse(null));
+                attributes.put("allUsers", allUsers);
+                attributes.put("userNames", allUsers.stream()
+                    .collect(Collectors.toMap(User::getId, User::getName, (a, b) -> a)));
+                attributes.put("totalTasks", sources.getT5());
+                attributes.put("caseInstances", cases.items());
+                attributes.put("nextCaseCursor", cases.nextCursor());
+                attributes.put("allTasks", tasks.items());
+                attributes.put("nextTaskCursor", tasks.nextCursor());
+                attributes.put("activeCases", sources.getT6());
+                attributes.put("notifications", sources.getT7());
+                return attributes;
+            })
+            .block(overallBudget());
+
+        return withDegraded(model, degraded);
+    }
+
+    public Map<String, Object> userDashboard(String userId, String cursor) {
+        List<String> degraded = new CopyOnWriteArrayList<>();
+        CursorPage<Task> emptyTasks = new CursorPage<>(Collections.emptyList(), null, false);
+
+        Map<String, Object> model = Mono.zip(
+                source("user", () -> Optional.ofNullable(userService.findById(userId)), Optional.<User>empty(), degraded),
+                source("tasks", () -> flowableCmmnService.getTasksForUserPage(userId, cursor, pageSize), emptyTasks, degraded),
+                source("notifications", () -> unreadNotifications(userId), Collections.<Notification>emptyList(), degraded),
+                source("upcoming", () -> workflowExecutionService.getUpcomingTasksForUser(userId),
+                    Collections.<WorkflowInstance>emptyList(), degraded))
+            .map(sources -> {
+                Map<String, Object> attributes = new HashMap<>();
+                attributes.put("user", sources.getT1().orElse(null));
+                attributes.put("tasks", sources.getT2().items());
+                attributes.put("nextCursor", sources.getT2().nextCursor());
+                attributes.put("notifications", sources.getT3());
+                attributes.put("upcomingTasks", sources.getT4());
+                return attributes;
+            })
+            .block(overallBudget());
+
+        return withDegraded(model, degraded);
+    }
+
+    /**
+     * Initial page render only; later notifications arrive over the SSE stream.
+     */
+    private List<Notification> unreadNotifications(String userId) {
+        return notificationRepository.findTop50ByUserIdAndReadFalseOrderByIdDesc(userId);
+    }
+
+    private <T> Mono<T> source(String name, Callable<T> call, T fallback, List<String> degraded) {
+        return Mono.fromCallable(call)
+            .subscribeOn(scheduler)
+            .timeout(sourceTimeout)
+            .defaultIfEmpty(fallback)
+            .onErrorResume(e -> {
+                log.warn("Dashboard source '{}' unavailable, using fallback: {}", name, e.toString());
+                degraded.add(name);
+                return Mono.just(fallback);
+            });
+    }
+
+    private Duration overallBudget() {
+        // Every source already falls back on its own timeout; this only guards against a stuck scheduler
+        return sourceTimeout.plusSeconds(1);
+    }
+
+    private Map<String, Object> withDegraded(Map<String, Object> model, List<String> degraded) {
+        Map<String, Object> attributes = model != null ? model : new HashMap<>();
+        attributes.put("degradedSources", List.copyOf(degraded));
+        return attributes;
+    }
+}
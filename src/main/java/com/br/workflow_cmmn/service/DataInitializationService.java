@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 
 /**
@@ -50,8 +51,10 @@ public class DataInitializationService implements CommandLineRunner {
     /**
      * Runs automatically on application startup
      * Only creates sample data if database is empty to avoid duplicates
+     * One transaction, so the sample rows are inserted in JDBC batches at commit
      */
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
         log.info("=== DATA INITIALIZATION SERVICE STARTING ===");
         
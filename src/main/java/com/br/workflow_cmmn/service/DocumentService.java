@@ -111,10 +111,7 @@ public class DocumentService {
     }
     
     public List<WorkflowTask> getPendingTasksByAssignee(String assignee) {
-        return workflowTaskRepository.findByAssignee(assignee)
-            .stream()
-            .filter(task -> "PENDING".equals(task.getStatus()))
-            .collect(java.util.stream.Collectors.toList());
+        return workflowTaskRepository.findByAssigneeAndStatus(assignee, "PENDING");
     }
     
     public List<Document> getAllDocuments() {
@@ -0,0 +1,44 @@
+package com.br.workflow_cmmn.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for uploaded and prepared documents.
+ *
+ * Blobs are keyed by the SHA-256 of their content, so storing identical bytes twice yields
+ * the same blob. Case variables holding a stored path {@link #retain} it and {@link #release}
+ * it when the path is replaced or the case ends; blobs without references are removed by
+ * {@link #purgeUnreferenced}. Blobs carry no name; the original file name is kept next to
+ * the path (originalFileName / preparedFileName).
+ */
+public interface DocumentStore {
+
+    StoredDocument put(InputStream content) throws IOException;
+
+    /**
+     * @return the on-disk path for a hash, if the blob exists
+     */
+    Optional<Path> resolve(String hash);
+
+    /**
+     * @return the content hash if {@code storedPath} points into this store
+     */
+    Optional<String> hashOf(String storedPath);
+
+    /**
+     * @return true if at least one case variable currently references the blob
+     */
+    boolean isReferenced(String hash);
+
+    void retain(String hash);
+
+    void release(String hash);
+
+    int purgeUnreferenced();
+
+    record StoredDocument(String hash, Path path, long size, boolean deduplicated) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.User;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Loads users from a local JSON array (same shape as the upstream /users response).
+ */
+public class FileUserDirectorySource implements UserDirectorySource {
+    private static final TypeReference<List<User>> USER_LIST = new TypeReference<>() {};
+
+    private final Resource resource;
+    private final ObjectMapper objectMapper;
+
+    public FileUserDirectorySource(Resource resource) {
+        this.resource = resource;
+        this.objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public List<User> loadUsers() throws Exception {
+        try (InputStream in = resource.getInputStream()) {
+            return objectMapper.readValue(in, USER_LIST);
+        }
+    }
+}
@@ -1,19 +1,28 @@
 package com.br.workflow_cmmn.service;
 
 import com.br.workflow_cmmn.listener.WorkflowEventListener;
+import com.br.workflow_cmmn.model.CaseStatus;
+import com.br.workflow_cmmn.model.CursorPage;
+import com.br.workflow_cmmn.model.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.flowable.cmmn.api.CmmnManagementService;
 import org.flowable.cmmn.api.CmmnRuntimeService;
 import org.flowable.cmmn.api.CmmnTaskService;
 import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.cmmn.api.runtime.CaseInstanceQuery;
 import org.flowable.common.engine.api.FlowableException;
 import org.flowable.task.api.Task;
+import org.flowable.task.api.TaskQuery;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,28 +31,27 @@ import java.util.stream.Collectors;
 @Transactional
 public class FlowableCmmnService {
     
+    public static final int DEFAULT_PAGE_SIZE = 25;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final String CASE_DEFINITION_KEY = "documentReviewCase";
+    public static final int MAX_STATUS_BATCH = 200;
+    /** Variables a status projection includes unless the caller names its own */
+    public static final List<String> STATUS_VARIABLES = List.of(
+        "workflowName", "status", "startedBy", "uploader", "preparator", "reviewer", "approved", "needsRework");
+    
     private final CmmnRuntimeService cmmnRuntimeService;
     private final CmmnTaskService cmmnTaskService;
+    private final CmmnManagementService cmmnManagementService;
+    private final DocumentStore documentStore;
+    private final WorkflowMetrics workflowMetrics;
     
     public CaseInstance startWorkflow(String workflowName, String startedBy, String uploader, 
                                     String preparator, String reviewer, String instructions) {
         try {
-            Map<String, Object> variables = new HashMap<>();
-            variables.put("workflowName", workflowName);
-            variables.put("startedBy", startedBy);
-            variables.put("uploader", uploader);
-            variables.put("preparator", preparator);
-            variables.put("reviewer", reviewer);
-            variables.put("instructions", instructions);
-            variables.put("startTime", LocalDateTime.now());
-            variables.put("approved", false);
-            variables.put("needsRework", false);
-            variables.put("status", "ACTIVE");
-            
             CaseInstance caseInstance = cmmnRuntimeService.createCaseInstanceBuilder()
-                .caseDefinitionKey("documentReviewCase")
+                .caseDefinitionKey(CASE_DEFINITION_KEY)
                 .name(workflowName)
-                .variables(variables)
+                .variables(caseVariables(workflowName, startedBy, uploader, preparator, reviewer, instructions))
                 .start();
                 
             log.info("Started CMMN case: {} with ID: {}", workflowName, caseInstance.getId());
@@ -54,7 +62,24 @@ public class FlowableCmmnService {
         }
     }
     
-
+    /**
+     * Initial case variables of a document review case; shared with the bulk start path.
+     */
+    static Map<String, Object> caseVariables(String workflowName, String startedBy, String uploader,
+                                             String preparator, String reviewer, String instructions) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("workflowName", workflowName);
+        variables.put("startedBy", startedBy);
+        variables.put("uploader", uploader);
+        variables.put("preparator", preparator);
+        variables.put("reviewer", reviewer);
+        variables.put("instructions", instructions);
+        variables.put("startTime", LocalDateTime.now());
+        variables.put("approved", false);
+        variables.put("needsRework", false);
+        variables.put("status", "ACTIVE");
+        return variables;
+    }
     
     @Transactional(readOnly = true)
     public List<Task> getTasksForUser(String userId) {
@@ -94,6 +119,123 @@ public class FlowableCmmnService {
             .list();
     }
     
+    /**
+     * Keyset page over all open tasks, newest first (create time desc, id desc).
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Task> getActiveTasksPage(String cursor, int size) {
+        return taskPage(cmmnTaskService::createTaskQuery, cursor, size);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Task> getTasksForUserPage(String userId, String cursor, int size) {
+        return taskPage(() -> cmmnTaskService.createTaskQuery().taskAssignee(userId), cursor, size);
+    }
+    
+    /**
+     * Keyset page over case instances, newest first (start time desc, id desc).
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CaseInstance> getCaseInstancesPage(String cursor, int size) {
+        int limit = clampPageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<CaseInstance> rows = new ArrayList<>(limit + 1);
+        
+        if (after != null) {
+            // startedAfter/startedBefore compare inclusively (>= / <=), so both set to the cursor
+            // time select exactly the instances sharing it
+            addTiesAfter((offset, count) -> cmmnRuntimeService.createCaseInstanceQuery()
+                    .caseInstanceStartedAfter(after.time())
+                    .caseInstanceStartedBefore(after.time())
+                    .orderByCaseInstanceId().desc()
+                    .listPage(offset, count),
+                CaseInstance::getId, after.id(), limit + 1, rows);
+        }
+        
+        if (rows.size() <= limit) {
+            CaseInstanceQuery rest = cmmnRuntimeService.createCaseInstanceQuery();
+            if (after != null) {
+                // Inclusive bound one millisecond (the stored precision) earlier: strictly older
+                rest.caseInstanceStartedBefore(new Date(after.time().getTime() - 1));
+            }
+            rows.addAll(rest.orderByStartTime().desc().orderByCaseInstanceId().desc()
+                .listPage(0, limit + 1 - rows.size()));
+        }
+        
+        return CursorPage.of(rows, limit, c -> new PageCursor(c.getStartTime(), c.getId()));
+    }
+    
+    @Transactional(readOnly = true)
+    public long countActiveTasks() {
+        return cmmnTaskService.createTaskQuery().count();
+    }
+    
+    @Transactional(readOnly = true)
+    public long countTasksForUser(String userId) {
+        return cmmnTaskService.createTaskQuery().taskAssignee(userId).count();
+    }
+    
+    @Transactional(readOnly = true)
+    public long countCaseInstances() {
+        return cmmnRuntimeService.createCaseInstanceQuery().count();
+    }
+    
+    private CursorPage<Task> taskPage(Supplier<TaskQuery> query, String cursor, int size) {
+        int limit = clampPageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<Task> rows = new ArrayList<>(limit + 1);
+        
+        if (after != null) {
+            // taskCreatedOn is an equality match on the create time
+            addTiesAfter((offset, count) -> query.get()
+                    .taskCreatedOn(after.time())
+                    .orderByTaskId().desc()
+                    .listPage(offset, count),
+                Task::getId, after.id(), limit + 1, rows);
+        }
+        
+        if (rows.size() <= limit) {
+            TaskQuery rest = query.get();
+            if (after != null) {
+                // taskCreatedBefore is strict (<), so the tie group is not read again
+                rest.taskCreatedBefore(after.time());
+            }
+            rows.addAll(rest.orderByTaskCreateTime().desc().orderByTaskId().desc()
+                .listPage(0, limit + 1 - rows.size()));
+        }
+        
+        return CursorPage.of(rows, limit, t -> new PageCursor(t.getCreateTime(), t.getId()));
+    }
+    
+    /**
+     * Adds the rows of a tie group (rows sharing the cursor's timestamp) that sort after the
+     * cursor, i.e. have a lower id, until {@code rows} holds {@code wanted} rows. The group is
+     * read id-descending in pages of {@code wanted}, so a large group is never loaded whole.
+     *
+     * @param page fetches {@code count} rows of the group starting at {@code offset}, id descending
+     */
+    static <T> void addTiesAfter(BiFunction<Integer, Integer, List<T>> page, Function<T, String> idOf,
+                                 String afterId, int wanted, List<T> rows) {
+        for (int offset = 0; rows.size() < wanted; offset += wanted) {
+            List<T> chunk = page.apply(offset, wanted);
+            for (T row : chunk) {
+                if (rows.size() < wanted && idOf.apply(row).compareTo(afterId) < 0) {
+                    rows.add(row);
+                }
+            }
+            if (chunk.size() < wanted) {
+                return;
+            }
+        }
+    }
+    
+    private int clampPageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+    
     @Transactional(readOnly = true)
     public Task getTaskById(String taskId) {
         return cmmnTaskService.createTaskQuery()
@@ -102,34 +244,68 @@ public class FlowableCmmnService {
     }
     
     public void completeUploadTask(String taskId, String filePath, String comments) {
-        Task task = validateTaskExists(taskId);
-        
+        completeUploadTask(taskId, null, filePath, null, comments);
+    }
+    
+    /**
+     * Completes an upload task. Lookup, stage and assignee checks, variable writes and the
+     * completion run as one engine command (one task fetch, one flush).
+     *
+     * @param userId   user completing the task; must be its assignee (null skips the check)
+     * @param fileName name of the uploaded file as the user sent it, kept for downloads (may be null)
+     */
+    public void completeUploadTask(String taskId, String userId, String filePath, String fileName, String comments) {
         Map<String, Object> variables = new HashMap<>();
         variables.put("originalFilePath", filePath);
+        if (fileName != null) {
+            variables.put("originalFileName", fileName);
+        }
         variables.put("uploadComments", comments);
         variables.put("uploadTime", LocalDateTime.now());
         variables.put("uploadCompleted", true);
         
-        cmmnTaskService.complete(taskId, variables);
-        log.info("Completed upload task: {} for case: {}", taskId, task.getScopeId());
+        CompleteTaskCommand.Completed completed = cmmnManagementService.executeCommand(
+            new CompleteTaskCommand(taskId, "uploadHumanTask", userId, variables, "originalFilePath", documentStore));
+        log.info("Completed upload task: {} for case: {}", taskId, completed.caseInstanceId());
     }
     
     public void completePrepareTask(String taskId, String preparedFilePath, String comments) {
-        Task task = validateTaskExists(taskId);
-        
+        completePrepareTask(taskId, null, preparedFilePath, null, comments);
+    }
+    
+    public void completePrepareTask(String taskId, String userId, String preparedFilePath, String fileName,
+                                    String comments) {
         Map<String, Object> variables = new HashMap<>();
         variables.put("preparedFilePath", preparedFilePath);
+        if (fileName != null) {
+            variables.put("preparedFileName", fileName);
+        }
         variables.put("prepareComments", comments);
         variables.put("prepareTime", LocalDateTime.now());
         variables.put("prepareCompleted", true);
         
-        cmmnTaskService.complete(taskId, variables);
-        log.info("Completed prepare task: {} for case: {}", taskId, task.getScopeId());
+        // A rework cycle replaces the case's prepared file; the previous blob loses this reference
+        CompleteTaskCommand.Completed completed = cmmnManagementService.executeCommand(
+            new CompleteTaskCommand(taskId, "prepareHumanTask", userId, variables, "preparedFilePath", documentStore));
+        log.info("Completed prepare task: {} for case: {}", taskId, completed.caseInstanceId());
     }
     
     public void completeReviewTask(String taskId, boolean approved, String comments) {
-        Task task = validateTaskExists(taskId);
-        
+        completeReviewTask(taskId, null, approved, comments);
+    }
+    
+    public void completeReviewTask(String taskId, String userId, boolean approved, String comments) {
+        CompleteTaskCommand.Completed completed = cmmnManagementService.executeCommand(
+            new CompleteTaskCommand(taskId, "reviewHumanTask", userId, reviewVariables(approved, comments)));
+        recordReviewOutcome(workflowMetrics, approved, comments);
+        log.info("Completed review task: {} for case: {} with decision: {}", 
+                taskId, completed.caseInstanceId(), approved ? "APPROVED" : "REJECTED");
+    }
+    
+    /**
+     * Case variables written by a review decision; shared with the bulk review path.
+     */
+    static Map<String, Object> reviewVariables(boolean approved, String comments) {
         Map<String, Object> variables = new HashMap<>();
         variables.put("approved", approved);
         variables.put("reviewComments", comments);
@@ -138,18 +314,30 @@ public class FlowableCmmnService {
         
         if (!approved) {
             // Check if this is final rejection or needs rework
-            boolean needsRework = comments.toLowerCase().contains("rework") || 
-                                comments.toLowerCase().contains("revise");
+            boolean needsRework = needsRework(comments);
             variables.put("needsRework", needsRework);
             variables.put("status", needsRework ? "REWORK" : "REJECTED");
         } else {
             variables.put("needsRework", false);
             variables.put("status", "COMPLETED");
         }
-        
-        cmmnTaskService.complete(taskId, variables);
-        log.info("Completed review task: {} for case: {} with decision: {}", 
-                taskId, task.getScopeId(), approved ? "APPROVED" : "REJECTED");
+        return variables;
+    }
+    
+    static void recordReviewOutcome(WorkflowMetrics workflowMetrics, boolean approved, String comments) {
+        if (approved) {
+            return;
+        }
+        if (needsRework(comments)) {
+            workflowMetrics.recordRework();
+        } else {
+            workflowMetrics.recordRejection();
+        }
+    }
+    
+    private static boolean needsRework(String comments) {
+        return comments.toLowerCase().contains("rework") ||
+               comments.toLowerCase().contains("revise");
     }
     
     @Transactional(readOnly = true)
@@ -179,6 +367,11 @@ public class FlowableCmmnService {
         return cmmnRuntimeService.getVariables(caseInstanceId);
     }
     
+    @Transactional(readOnly = true)
+    public Object getCaseVariable(String caseInstanceId, String variableName) {
+        return cmmnRuntimeService.getVariable(caseInstanceId, variableName);
+    }
+    
     public void terminateCase(String caseInstanceId) {
         try {
             cmmnRuntimeService.terminateCaseInstance(caseInstanceId);
@@ -189,33 +382,35 @@ public class FlowableCmmnService {
         }
     }
     
+    public CaseStatus getWorkflowStatus(String caseInstanceId) {
+        return getWorkflowStatus(caseInstanceId, null);
+    }
+    
+    /**
+     * Status projection of one case.
+     *
+     * @param variableNames variables to include; null for {@link #STATUS_VARIABLES}, "*" for all
+     */
     @Transactional(readOnly = true)
-    public Map<String, Object> getWorkflowStatus(String caseInstanceId) {
-        Map<String, Object> status = new HashMap<>();
-        
-        CaseInstance caseInstance = getCaseInstance(caseInstanceId);
-        if (caseInstance == null) {
-            status.put("error", "Case not found");
-            return status;
-        }
-        
-        Map<String, Object> variables = getCaseVariables(caseInstanceId);
-        List<Task> tasks = getTasksByCaseInstance(caseInstanceId);
-        
-        status.put("caseId", caseInstanceId);
-        status.put("name", caseInstance.getName());
-        status.put("state", caseInstance.getState());
-        status.put("variables", variables);
-        status.put("activeTasks", tasks.size());
-        
-        return status;
+    public CaseStatus getWorkflowStatus(String caseInstanceId, Collection<String> variableNames) {
+        return getWorkflowStatuses(List.of(caseInstanceId), variableNames).get(0);
     }
     
-    private Task validateTaskExists(String taskId) {
-        Task task = getTaskById(taskId);
-        if (task == null) {
-            throw new IllegalArgumentException("Task not found: " + taskId);
+    /**
+     * Status projections of many cases, in request order (duplicates collapsed), built in one
+     * engine command. Unknown cases come back with an error instead of failing the call.
+     */
+    @Transactional(readOnly = true)
+    public List<CaseStatus> getWorkflowStatuses(Collection<String> caseInstanceIds, Collection<String> variableNames) {
+        List<String> ids = List.copyOf(new LinkedHashSet<>(caseInstanceIds));
+        if (ids.size() > MAX_STATUS_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_STATUS_BATCH + " cases per status request");
+        }
+        if (ids.isEmpty()) {
+            return List.of();
         }
-        return task;
+        Collection<String> names = variableNames == null || variableNames.isEmpty() ? STATUS_VARIABLES
+            : variableNames.contains("*") ? null : variableNames;
+        return cmmnManagementService.executeCommand(new CaseStatusCommand(ids, names));
     }
 }
\ No newline at end of file
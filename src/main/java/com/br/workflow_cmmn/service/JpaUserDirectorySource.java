@@ -0,0 +1,39 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.DirectoryUser;
+import com.br.workflow_cmmn.model.User;
+import com.br.workflow_cmmn.repository.DirectoryUserRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Loads users from the local {@code directory_user} table.
+ */
+@RequiredArgsConstructor
+public class JpaUserDirectorySource implements UserDirectorySource {
+    private final DirectoryUserRepository directoryUserRepository;
+
+    @Override
+    public String getName() {
+        return "jpa";
+    }
+
+    @Override
+    public List<User> loadUsers() {
+        return directoryUserRepository.findAll()
+            .stream()
+            .map(this::toUser)
+            .toList();
+    }
+
+    private User toUser(DirectoryUser entity) {
+        User user = new User();
+        user.setId(entity.getId());
+        user.setUsername(entity.getUsername());
+        user.setEmail(entity.getEmail());
+        user.setRole(entity.getRole());
+        user.setName(entity.getName());
+        return user;
+    }
+}
@@ -0,0 +1,140 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.Notification;
+import com.br.workflow_cmmn.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * NotificationStream - Pushes notifications and task arrivals to connected dashboards over SSE
+ *
+ * STREAM CONTENTS (per user):
+ * - "notification" events for committed Notification rows, with the row ID as event ID
+ * - "task" events when a Flowable task is created for or assigned to the user
+ * - comment-only heartbeats so proxies keep idle connections open
+ *
+ * A reconnecting client sends Last-Event-ID and first receives the notifications it missed,
+ * read from the database. Each subscriber has its own bounded buffer; a client that stops
+ * reading loses its oldest events rather than holding back other subscribers, and recovers
+ * them from the database on its next reconnect.
+ */
+@Slf4j
+@Service
+public class NotificationStream {
+    private final NotificationRepository notificationRepository;
+    private final Duration heartbeatInterval;
+    private final int subscriberBuffer;
+    private final Map<String, UserSink> sinks = new ConcurrentHashMap<>();
+
+    public NotificationStream(NotificationRepository notificationRepository,
+                              @Value("${app.notifications.stream-heartbeat:PT15S}") Duration heartbeatInterval,
+                              @Value("${app.notifications.stream-buffer:256}") int subscriberBuffer) {
+        this.notificationRepository = notificationRepository;
+        this.heartbeatInterval = heartbeatInterval;
+        this.subscriberBuffer = subscriberBuffer;
+    }
+
+    public Flux<ServerSentEvent<Object>> subscribe(String userId, Long lastEventId) {
+        // The sink is acquired per subscription so every acquire is paired with the release in doFinally
+        return Flux.defer(() -> connect(userId, lastEventId))
+            .doFinally(signal -> release(userId));
+    }
+
+    private Flux<ServerSentEvent<Object>> connect(String userId, Long lastEventId) {
+        Flux<ServerSentEvent<Object>> live = acquire(userId).asFlux()
+            .onBackpressureBuffer(subscriberBuffer, dropped -> log.debug("Dropped SSE event for slow client {}", userId),
+                BufferOverflowStrategy.DROP_OLDEST);
+
+        Flux<ServerSentEvent<Object>> missed = lastEventId == null
+            ? Flux.empty()
+            : Flux.defer(() -> Flux.fromIterable(
+                    notificationRepository.findTop200ByUserIdAndIdGreaterThanOrderById(userId, lastEventId)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(NotificationStream::toEvent);
+
+        Flux<ServerSentEvent<Object>> heartbeat = Flux.interval(heartbeatInterval)
+            .map(tick -> ServerSentEvent.builder().comment("keepalive").build());
+
+        // Live is subscribed alongside the replay so nothing committed meanwhile is lost;
+        // the client ignores IDs it has already shown
+        return Flux.merge(missed, live, heartbeat);
+    }
+
+    @EventListener
+    public void onNotificationsCommitted(NotificationsCommittedEvent event) {
+        for (Notification notification : event.notifications()) {
+            emit(notification.getUserId(), toEvent(notification));
+        }
+    }
+
+    @EventListener
+    public void onTaskArrived(TaskArrivedEvent event) {
+        emit(event.userId(), ServerSentEvent.builder()
+            .event("task")
+            .data(Map.of(
+                "taskId", event.taskId(),
+                "name", event.taskName() != null ? event.taskName() : "",
+                "caseInstanceId", event.caseInstanceId() != null ? event.caseInstanceId() : ""))
+            .build());
+    }
+
+    public int getConnectedUsers() {
+        return sinks.size();
+    }
+
+    private void emit(String userId, ServerSentEvent<Object> event) {
+        UserSink userSink = userId != null ? sinks.get(userId) : null;
+        if (userSink == null) {
+            return;
+        }
+        Sinks.Many<ServerSentEvent<Object>> sink = userSink.sink;
+        // Sinks require serialized emission; events for one user come from several threads
+        synchronized (sink) {
+            sink.tryEmitNext(event);
+        }
+    }
+
+    /**
+     * Counts the connection under the map's per-key lock, so a concurrent release can never
+     * drop a sink that a new connection has just been handed
+     */
+    private Sinks.Many<ServerSentEvent<Object>> acquire(String userId) {
+        return sinks.compute(userId, (id, userSink) -> {
+            UserSink acquired = userSink != null ? userSink : new UserSink();
+            acquired.connections++;
+            return acquired;
+        }).sink;
+    }
+
+    private void release(String userId) {
+        sinks.computeIfPresent(userId, (id, userSink) -> --userSink.connections == 0 ? null : userSink);
+    }
+
+    /** A user's sink and the number of open connections reading it; only mutated inside map compute calls */
+    private static final class UserSink {
+        private final Sinks.Many<ServerSentEvent<Object>> sink = Sinks.many().multicast().directBestEffort();
+        private int connections;
+    }
+
+    private static ServerSentEvent<Object> toEvent(Notification notification) {
+        return ServerSentEvent.builder()
+            .id(String.valueOf(notification.getId()))
+            .event("notification")
+            .data(Map.of(
+                "id", notification.getId(),
+                "message", notification.getMessage() != null ? notification.getMessage() : "",
+                "type", notification.getType() != null ? notification.getType() : "INFO"))
+            .build();
+    }
+}
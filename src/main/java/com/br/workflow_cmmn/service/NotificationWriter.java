@@ -0,0 +1,135 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.Notification;
+import com.br.workflow_cmmn.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * NotificationWriter - Buffers notifications and inserts them in JDBC batches
+ *
+ * WRITE PATHS:
+ * - Inside a transaction: notifications are collected per transaction and inserted as one
+ *   batch just before commit, so they commit (or roll back) together with the task change
+ *   that caused them
+ * - Outside a transaction: notifications go to a bounded queue that a background flush
+ *   drains in batches; when the queue is full the caller writes its own batch instead of
+ *   dropping anything
+ *
+ * Batching relies on Notification using a pooled sequence and on hibernate.jdbc.batch_size.
+ * Each committed batch is announced as a {@link NotificationsCommittedEvent} for push delivery.
+ */
+@Slf4j
+@Component
+public class NotificationWriter {
+    private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Notification> queue;
+    private final int batchSize;
+
+    public NotificationWriter(NotificationRepository notificationRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.notifications.queue-capacity:10000}") int queueCapacity,
+                              @Value("${app.notifications.batch-size:50}") int batchSize) {
+        this.notificationRepository = notificationRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    public void write(Notification notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionBuffer().add(notification);
+        } else if (!queue.offer(notification)) {
+            log.debug("Notification queue full - writing batch on caller thread");
+            List<Notification> batch = new ArrayList<>(batchSize);
+            batch.add(notification);
+            queue.drainTo(batch, batchSize - 1);
+            insert(batch);
+        }
+    }
+
+    /**
+     * Drains the queue in batches. Runs on a short fixed delay and on shutdown.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.flush-interval:PT0.2S}")
+    public void flush() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            insert(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void insert(List<Notification> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> notificationRepository.saveAll(batch));
+            log.debug("Inserted batch of {} notifications", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to insert {} notifications", batch.size(), e);
+            return;
+        }
+        publish(batch);
+    }
+
+    private void publish(List<Notification> committed) {
+        try {
+            eventPublisher.publishEvent(new NotificationsCommittedEvent(List.copyOf(committed)));
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish {} committed notifications", committed.size(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Notification> transactionBuffer() {
+        List<Notification> buffer = (List<Notification>) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            List<Notification> pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    notificationRepository.saveAll(pending);
+                    notificationRepository.flush();
+                }
+
+                @Override
+                public void afterCommit() {
+                    publish(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(NotificationWriter.this);
+                }
+            });
+            buffer = pending;
+        }
+        return buffer;
+    }
+}
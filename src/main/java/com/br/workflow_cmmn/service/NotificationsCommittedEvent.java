@@ -0,0 +1,11 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.Notification;
+
+import java.util.List;
+
+/**
+ * Published by NotificationWriter once a batch of notifications is committed and has IDs.
+ */
+public record NotificationsCommittedEvent(List<Notification> notifications) {
+}
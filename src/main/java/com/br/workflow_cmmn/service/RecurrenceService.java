@@ -0,0 +1,236 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.WorkflowInstance;
+import com.br.workflow_cmmn.repository.WorkflowInstanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * RecurrenceService - Materializes upcoming occurrences of recurring workflows
+ *
+ * RECURRENCE MODEL:
+ * - Occurrence N of a series is nominally due at seriesAnchor + N * frequency
+ *   (MONTHLY keeps the anchor's day of month, clamped to shorter months)
+ * - Each instance knows whether its successor exists and when that successor is nominally
+ *   due (nextNominalStart); the latest one without a successor is the head of its series,
+ *   and the indexed due time lets each run load only heads that are due
+ * - The next occurrence is created as a SCHEDULED instance once it falls inside the
+ *   lookahead horizon, in batches of one transaction each, and handed to WorkflowStartTimer
+ *
+ * LOAD SPREADING:
+ * - Every series gets a fixed offset inside the spread window, derived from its series ID,
+ *   so thousands of series due on the 1st start across the window instead of all at once
+ *   and a given series always starts at the same offset
+ *
+ * CLUSTERING:
+ * - Each node only materializes series in partitions it holds (SchedulerLeaseManager);
+ *   heads are claimed with a conditional update, so a successor is created at most once
+ *
+ * CATCH-UP:
+ * - After downtime, only the latest missed occurrence of each series is created; older
+ *   missed occurrences are skipped and logged. Catch-up starts are spread from "now".
+ */
+@Slf4j
+@Service
+public class RecurrenceService {
+    private static final Set<String> RECURRING = Set.of("DAILY", "WEEKLY", "MONTHLY");
+
+    private final WorkflowInstanceRepository workflowInstanceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerLeaseManager leaseManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lookahead;
+    private final Duration spreadWindow;
+    private final int batchSize;
+
+    public RecurrenceService(WorkflowInstanceRepository workflowInstanceRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             SchedulerLeaseManager leaseManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.recurrence.lookahead:PT24H}") Duration lookahead,
+                             @Value("${app.recurrence.spread-window:PT30M}") Duration spreadWindow,
+                             @Value("${app.recurrence.batch-size:500}") int batchSize) {
+        this.workflowInstanceRepository = workflowInstanceRepository;
+        this.eventPublisher = eventPublisher;
+        this.leaseManager = leaseManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lookahead = lookahead;
+        this.spreadWindow = spreadWindow;
+        this.batchSize = batchSize;
+    }
+
+    public static boolean isRecurring(String frequency) {
+        return frequency != null && RECURRING.contains(frequency);
+    }
+
+    /**
+     * Nominal start of occurrence {@code occurrence} of a series anchored at {@code anchor}.
+     * Always computed from the anchor, so month-end clamping never drifts the series.
+     */
+    public static LocalDateTime occurrenceAt(LocalDateTime anchor, String frequency, int occurrence) {
+        return switch (frequency) {
+            case "DAILY" -> anchor.plusDays(occurrence);
+            case "WEEKLY" -> anchor.plusWeeks(occurrence);
+            case "MONTHLY" -> anchor.plusMonths(occurrence);
+            default -> throw new IllegalArgumentException("Not a recurring frequency: " + frequency);
+        };
+    }
+
+    /**
+     * Creates the next occurrence for every series whose next start falls inside the lookahead
+     * horizon. Runs periodically and whenever this node takes over partitions, which is what
+     * catches up series after downtime or after their previous owner died.
+     *
+     * @return number of occurrences created
+     */
+    @Scheduled(fixedDelayString = "${app.recurrence.materialize-interval:PT5M}")
+    public int materializeDue() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.plus(lookahead);
+        long afterId = 0;
+        int created = 0;
+
+        while (true) {
+            List<WorkflowInstance> heads = workflowInstanceRepository.findSeriesToMaterialize(
+                horizon, afterId, PageRequest.of(0, batchSize));
+            if (heads.isEmpty()) {
+                break;
+            }
+            afterId = heads.get(heads.size() - 1).getId();
+
+            List<WorkflowScheduledEvent> scheduled;
+            try {
+                scheduled = transactionTemplate.execute(status -> materializeBatch(heads, now, horizon));
+            } catch (RuntimeException e) {
+                // Leave the batch for the next run rather than retrying it in a tight loop
+                log.error("Failed to materialize recurrence batch ending at instance {}", afterId, e);
+                continue;
+            }
+
+            // Only hand starts to the timer once the rows are committed
+            scheduled.forEach(eventPublisher::publishEvent);
+            created += scheduled.size();
+            if (heads.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (created > 0) {
+            log.info("Materialized {} recurring workflow occurrences up to {}", created, horizon);
+        }
+        return created;
+    }
+
+    /**
+     * Fills in nextNominalStart on heads saved before the column existed, so the indexed
+     * query finds them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillNextNominalStart() {
+        Integer updated = transactionTemplate.execute(status -> {
+            List<WorkflowInstance> heads = workflowInstanceRepository.findSeriesHeadsWithoutNextStart();
+            for (WorkflowInstance head : heads) {
+                head.setNextNominalStart(occurrenceAt(head.getSeriesAnchor(), head.getFrequency(), head.getOccurrence() + 1));
+            }
+            workflowInstanceRepository.saveAll(heads);
+            return heads.size();
+        });
+        if (updated != null && updated > 0) {
+            log.info("Backfilled the next occurrence start of {} recurring series", updated);
+        }
+    }
+
+    @EventListener
+    public void onPartitionsAcquired(SchedulerPartitionsAcquiredEvent event) {
+        materializeDue();
+    }
+
+    private List<WorkflowScheduledEvent> materializeBatch(List<WorkflowInstance> heads,
+                                                          LocalDateTime now, LocalDateTime horizon) {
+        List<WorkflowInstance> successors = new ArrayList<>();
+
+        for (WorkflowInstance head : heads) {
+            if (!leaseManager.owns(head.getSeriesId())) {
+                continue;
+            }
+            int next = head.getOccurrence() + 1;
+            LocalDateTime nominal = occurrenceAt(head.getSeriesAnchor(), head.getFrequency(), next);
+            if (nominal.isAfter(horizon)) {
+                continue;
+            }
+
+            // Collapse a backlog of missed occurrences into the most recent one
+            int skipped = 0;
+            LocalDateTime following = occurrenceAt(head.getSeriesAnchor(), head.getFrequency(), next + 1);
+            while (!following.isAfter(now)) {
+                next++;
+                skipped++;
+                nominal = following;
+                following = occurrenceAt(head.getSeriesAnchor(), head.getFrequency(), next + 1);
+            }
+            if (skipped > 0) {
+                log.warn("Series {} missed {} occurrences while down; catching up with occurrence {} only",
+                        head.getSeriesId(), skipped, next);
+            }
+
+            if (workflowInstanceRepository.claimSuccessor(head.getId()) == 0) {
+                continue;
+            }
+            LocalDateTime base = nominal.isBefore(now) ? now : nominal;
+            successors.add(successorOf(head, next, nominal, base.plus(spreadOffset(head.getSeriesId()))));
+        }
+
+        List<WorkflowScheduledEvent> events = new ArrayList<>(successors.size());
+        for (WorkflowInstance saved : workflowInstanceRepository.saveAll(successors)) {
+            events.add(new WorkflowScheduledEvent(saved.getId(), saved.getScheduledStart()));
+        }
+        return events;
+    }
+
+    private WorkflowInstance successorOf(WorkflowInstance head, int occurrence,
+                                         LocalDateTime nominal, LocalDateTime scheduledStart) {
+        WorkflowInstance successor = new WorkflowInstance();
+        successor.setWorkflowName(head.getWorkflowName());
+        successor.setStartedBy(head.getStartedBy());
+        successor.setFrequency(head.getFrequency());
+        successor.setUploader(head.getUploader());
+        successor.setPreparator(head.getPreparator());
+        successor.setReviewer(head.getReviewer());
+        successor.setInstructions(head.getInstructions());
+        successor.setSeriesId(head.getSeriesId());
+        successor.setSeriesAnchor(head.getSeriesAnchor());
+        successor.setOccurrence(occurrence);
+        successor.setNominalStart(nominal);
+        successor.setNextNominalStart(occurrenceAt(head.getSeriesAnchor(), head.getFrequency(), occurrence + 1));
+        successor.setScheduledStart(scheduledStart);
+        successor.setStatus("SCHEDULED");
+        return successor;
+    }
+
+    /**
+     * Stable per-series offset in [0, spreadWindow). The multiplier scatters consecutive
+     * series IDs across the window instead of stacking them at its start.
+     */
+    private Duration spreadOffset(Long seriesId) {
+        long windowSeconds = spreadWindow.toSeconds();
+        if (windowSeconds <= 0 || seriesId == null) {
+            return Duration.ZERO;
+        }
+        long mixed = seriesId * 0x9E3779B97F4A7C15L;
+        return Duration.ofSeconds(Math.floorMod(mixed ^ (mixed >>> 32), windowSeconds));
+    }
+}
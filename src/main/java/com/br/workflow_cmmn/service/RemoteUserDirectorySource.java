@@ -0,0 +1,39 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.User;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Loads users from the upstream HTTP directory (jsonplaceholder by default).
+ */
+public class RemoteUserDirectorySource implements UserDirectorySource {
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public RemoteUserDirectorySource(String baseUrl, Duration timeout) {
+        this.webClient = WebClient.builder()
+            .baseUrl(baseUrl)
+            .build();
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String getName() {
+        return "remote";
+    }
+
+    @Override
+    public List<User> loadUsers() {
+        List<User> users = webClient.get()
+            .uri("/users")
+            .retrieve()
+            .bodyToFlux(User.class)
+            .collectList()
+            .block(timeout);
+        return users != null ? users : Collections.emptyList();
+    }
+}
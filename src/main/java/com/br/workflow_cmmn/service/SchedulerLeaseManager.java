@@ -0,0 +1,228 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.SchedulerLease;
+import com.br.workflow_cmmn.model.SchedulerNode;
+import com.br.workflow_cmmn.repository.SchedulerLeaseRepository;
+import com.br.workflow_cmmn.repository.SchedulerNodeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SchedulerLeaseManager - Splits scheduler work across replicas through leases in the database
+ *
+ * PARTITIONING:
+ * - Scheduled work is keyed by a long ID (workflow instance or series) and hashed onto a
+ *   fixed number of partitions; each partition is leased to at most one live node
+ * - A node only fires starts and materializes recurrences for keys in partitions it holds
+ *
+ * HEARTBEAT (every heartbeat interval):
+ * 1. Record this node as alive and drop nodes that stopped heartbeating
+ * 2. Renew held leases; a lease not renewed within the lease duration expires
+ * 3. Take free or expired partitions up to this node's fair share (partitions / live nodes)
+ * 4. Release partitions above the fair share so newly joined nodes can pick them up
+ *
+ * THREADS:
+ * - The heartbeat runs on its own thread, so slow @Scheduled jobs on Spring's shared
+ *   scheduler (user refresh, purges, sweeps) cannot delay renewal past the lease duration
+ * - Work for newly acquired partitions (recurrence materialization, timer re-sync) is
+ *   announced with a {@link SchedulerPartitionsAcquiredEvent} on a separate takeover thread,
+ *   so the heartbeat only renews and acquires
+ *
+ * A dead node's partitions are taken over after at most one lease duration plus one
+ * heartbeat. Lease acquisition is a conditional update, so two nodes can never both win
+ * the same partition; node clocks are assumed to be synchronized well within the lease
+ * duration. Activation itself stays idempotent, which covers the short overlap around a
+ * lease handover.
+ */
+@Slf4j
+@Component
+public class SchedulerLeaseManager {
+    private final SchedulerLeaseRepository leaseRepository;
+    private final SchedulerNodeRepository nodeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitions;
+    private final Duration leaseDuration;
+    private final Duration heartbeatInterval;
+    private final String nodeId;
+    private final ScheduledExecutorService heartbeatThread;
+    private final ExecutorService takeoverThread;
+
+    private volatile Set<Integer> held = Set.of();
+    private volatile LocalDateTime heldUntil = LocalDateTime.MIN;
+
+    public SchedulerLeaseManager(SchedulerLeaseRepository leaseRepository,
+                                 SchedulerNodeRepository nodeRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.scheduler.partitions:16}") int partitions,
+                                 @Value("${app.scheduler.lease-duration:PT30S}") Duration leaseDuration,
+                                 @Value("${app.scheduler.heartbeat-interval:PT10S}") Duration heartbeatInterval) {
+        this.leaseRepository = leaseRepository;
+        this.nodeRepository = nodeRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitions = partitions;
+        this.leaseDuration = leaseDuration;
+        this.heartbeatInterval = heartbeatInterval;
+        this.nodeId = localHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.heartbeatThread = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "scheduler-heartbeat"));
+        this.takeoverThread = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "scheduler-takeover"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        heartbeatThread.scheduleWithFixedDelay(() -> {
+            try {
+                heartbeat();
+            } catch (RuntimeException e) {
+                // Keep the schedule alive; leases not renewed now are retried on the next beat
+                log.warn("Scheduler heartbeat failed", e);
+            }
+        }, 0, heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Set<Integer> getHeldPartitions() {
+        return held;
+    }
+
+    public int partitionOf(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return Math.floorMod(mixed ^ (mixed >>> 32), partitions);
+    }
+
+    /**
+     * True if this node currently holds the lease for the key's partition. Leases that were
+     * not renewed in time count as lost, even before the next heartbeat notices.
+     */
+    public boolean owns(long key) {
+        return LocalDateTime.now().isBefore(heldUntil) && held.contains(partitionOf(key));
+    }
+
+    public void heartbeat() {
+        ensurePartitions();
+        Set<Integer> previous = held;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(leaseDuration);
+
+        Set<Integer> current = transactionTemplate.execute(status -> {
+            SchedulerNode node = nodeRepository.findById(nodeId).orElseGet(() -> {
+                SchedulerNode created = new SchedulerNode();
+                created.setNodeId(nodeId);
+                return created;
+            });
+            node.setLastHeartbeat(now);
+            nodeRepository.save(node);
+            nodeRepository.deleteStale(now.minus(leaseDuration));
+
+            leaseRepository.renew(nodeId, now, expiresAt);
+            Set<Integer> owned = new TreeSet<>(leaseRepository.findHeldPartitions(nodeId, now));
+
+            long liveNodes = Math.max(1, nodeRepository.countByLastHeartbeatAfter(now.minus(leaseDuration)));
+            int fairShare = (int) ((partitions + liveNodes - 1) / liveNodes);
+
+            List<Integer> available = new ArrayList<>(leaseRepository.findAvailablePartitions(now));
+            // Spread competing nodes over different free partitions
+            Collections.shuffle(available);
+            for (Integer partition : available) {
+                if (owned.size() >= fairShare) {
+                    break;
+                }
+                if (leaseRepository.tryAcquire(partition, nodeId, now, expiresAt) == 1) {
+                    owned.add(partition);
+                }
+            }
+
+            Iterator<Integer> excess = owned.iterator();
+            while (owned.size() > fairShare && excess.hasNext()) {
+                Integer partition = excess.next();
+                leaseRepository.release(partition, nodeId);
+                excess.remove();
+            }
+            return owned;
+        });
+
+        held = Collections.unmodifiableSet(current);
+        heldUntil = expiresAt;
+
+        Set<Integer> acquired = new TreeSet<>(current);
+        acquired.removeAll(previous);
+        if (!acquired.isEmpty() || !previous.equals(current)) {
+            log.info("Scheduler node {} holds partitions {}", nodeId, current);
+        }
+        if (!acquired.isEmpty()) {
+            // The timer only queued keys it could see before; let it pick up the new partitions' work
+            SchedulerPartitionsAcquiredEvent event = new SchedulerPartitionsAcquiredEvent(acquired);
+            takeoverThread.execute(() -> eventPublisher.publishEvent(event));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatThread.shutdownNow();
+        takeoverThread.shutdownNow();
+        held = Set.of();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                leaseRepository.releaseAll(nodeId);
+                nodeRepository.deleteById(nodeId);
+            });
+            log.info("Scheduler node {} released its partitions", nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Could not release scheduler leases on shutdown; they expire after {}", leaseDuration, e);
+        }
+    }
+
+    private void ensurePartitions() {
+        if (leaseRepository.count() >= partitions) {
+            return;
+        }
+        for (int partition = 0; partition < partitions; partition++) {
+            if (leaseRepository.existsById(partition)) {
+                continue;
+            }
+            SchedulerLease lease = new SchedulerLease();
+            lease.setPartitionId(partition);
+            try {
+                leaseRepository.save(lease);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Partition {} was created by another node", partition);
+            }
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
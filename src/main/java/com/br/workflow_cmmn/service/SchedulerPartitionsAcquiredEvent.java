@@ -0,0 +1,9 @@
+package com.br.workflow_cmmn.service;
+
+import java.util.Set;
+
+/**
+ * Published by SchedulerLeaseManager when this node takes over scheduler partitions.
+ */
+public record SchedulerPartitionsAcquiredEvent(Set<Integer> partitions) {
+}
@@ -0,0 +1,7 @@
+package com.br.workflow_cmmn.service;
+
+/**
+ * Published when a Flowable task is created for, or assigned to, a user.
+ */
+public record TaskArrivedEvent(String userId, String taskId, String taskName, String caseInstanceId) {
+}
@@ -0,0 +1,173 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.config.UserDirectoryProperties;
+import com.br.workflow_cmmn.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UserDirectory - In-memory, read-optimized index of users
+ *
+ * Lookups are served from an immutable snapshot (by id, by role) that is swapped
+ * atomically by a background refresh, so request threads never wait on the source.
+ * A failed refresh keeps the previous snapshot in place.
+ */
+@Slf4j
+@Component
+public class UserDirectory {
+    private final UserDirectorySource source;
+    private final Duration refreshInterval;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private volatile long lastRefreshDurationMillis;
+
+    public UserDirectory(UserDirectorySource source, UserDirectoryProperties properties) {
+        this.source = source;
+        this.refreshInterval = properties.getRefreshInterval();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialLoad() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.refresh-interval:PT5M}",
+               initialDelayString = "${app.users.refresh-interval:PT5M}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Reloads the snapshot from the source. Concurrent calls collapse into the one already running.
+     *
+     * @return true if a new snapshot was installed
+     */
+    public boolean refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        long started = System.nanoTime();
+        try {
+            List<User> users = source.loadUsers();
+            snapshot = Snapshot.of(users);
+            refreshes.incrementAndGet();
+            log.debug("User directory refreshed from {} source: {} users", source.getName(), users.size());
+            return true;
+        } catch (Exception e) {
+            refreshFailures.incrementAndGet();
+            log.warn("User directory refresh from {} source failed, keeping {} cached users: {}",
+                    source.getName(), snapshot.byId.size(), e.getMessage());
+            return false;
+        } finally {
+            lastRefreshDurationMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+            refreshing.set(false);
+        }
+    }
+
+    public Optional<User> findById(String id) {
+        User user = id != null ? snapshot.byId.get(id) : null;
+        if (user != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return Optional.ofNullable(user);
+    }
+
+    public List<User> findAll() {
+        hits.increment();
+        return snapshot.all;
+    }
+
+    public List<User> findByRole(String role) {
+        hits.increment();
+        return snapshot.byRole.getOrDefault(role, Collections.emptyList());
+    }
+
+    public Stats getStats() {
+        Snapshot current = snapshot;
+        return new Stats(source.getName(), current.byId.size(), hits.sum(), misses.sum(),
+                refreshes.get(), refreshFailures.get(), lastRefreshDurationMillis, current.loadedAt,
+                current.loadedAt != null && current.loadedAt.plus(refreshInterval).isBefore(Instant.now()));
+    }
+
+    /**
+     * Applies the demo role mapping for sources that do not carry a role.
+     */
+    static User withDefaultRole(User user) {
+        if (user.getRole() != null) {
+            return user;
+        }
+        if ("1".equals(user.getId())) {
+            user.setRole("ADMIN");
+            return user;
+        }
+        try {
+            int id = Integer.parseInt(user.getId());
+            switch (id % 4) {
+                case 0 -> user.setRole("REVIEWER");
+                case 1 -> user.setRole("ADMIN");
+                case 2 -> user.setRole("UPLOADER");
+                case 3 -> user.setRole("PREPARATOR");
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Cannot derive role for non-numeric user id: {}", user.getId());
+        }
+        return user;
+    }
+
+    public record Stats(String source, int size, long hits, long misses, long refreshes,
+                        long refreshFailures, long lastRefreshDurationMillis, Instant loadedAt, boolean stale) {
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyList(), null);
+
+        final Map<String, User> byId;
+        final Map<String, List<User>> byRole;
+        final List<User> all;
+        final Instant loadedAt;
+
+        private Snapshot(Map<String, User> byId, Map<String, List<User>> byRole, List<User> all, Instant loadedAt) {
+            this.byId = byId;
+            this.byRole = byRole;
+            this.all = all;
+            this.loadedAt = loadedAt;
+        }
+
+        static Snapshot of(List<User> users) {
+            Map<String, User> byId = new HashMap<>(users.size() * 2);
+            Map<String, List<User>> byRole = new HashMap<>();
+            List<User> all = new ArrayList<>(users.size());
+            for (User user : users) {
+                if (user.getId() == null) {
+                    continue;
+                }
+                withDefaultRole(user);
+                byId.put(user.getId(), user);
+                all.add(user);
+                if (user.getRole() != null) {
+                    byRole.computeIfAbsent(user.getRole(), r -> new ArrayList<>()).add(user);
+                }
+            }
+            byRole.replaceAll((role, list) -> List.copyOf(list));
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(byRole), List.copyOf(all), Instant.now());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.model.User;
+
+import java.util.List;
+
+/**
+ * Backing store the {@link UserDirectory} loads its snapshot from.
+ * Implementations are called from the background refresh only, never on a request thread.
+ */
+public interface UserDirectorySource {
+
+    String getName();
+
+    List<User> loadUsers() throws Exception;
+}
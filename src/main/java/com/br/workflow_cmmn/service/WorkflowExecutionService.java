@@ -4,8 +4,9 @@ import com.br.workflow_cmmn.model.*;
 import com.br.workflow_cmmn.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -31,8 +32,9 @@ import java.util.List;
  * 
  * SCHEDULING:
  * - Workflows can be scheduled for future execution
- * - Automatic scheduler checks every minute for workflows to start
+ * - WorkflowStartTimer fires each scheduled start on time and calls activateScheduledWorkflow
  * - Supports one-time and recurring workflows (DAILY, WEEKLY, MONTHLY)
+ * - RecurrenceService materializes the next occurrence of each recurring series ahead of time
  */
 @Slf4j
 @Service
@@ -41,6 +43,9 @@ public class WorkflowExecutionService {
     private final WorkflowInstanceRepository workflowInstanceRepository;
     private final WorkflowTaskRepository workflowTaskRepository;
     private final NotificationRepository notificationRepository;
+    private final NotificationWriter notificationWriter;
+    private final WorkflowMetrics workflowMetrics;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Creates a new workflow instance and determines if it should start immediately or be scheduled
@@ -61,6 +66,7 @@ public class WorkflowExecutionService {
      * @param instructions Detailed instructions for all participants
      * @return Created WorkflowInstance with appropriate status
      */
+    @Transactional
     public WorkflowInstance startWorkflow(String name, String startedBy, LocalDateTime scheduledStart, 
                                          String frequency, String uploader, String preparator, String reviewer, String instructions) {
         log.info("=== CREATING NEW WORKFLOW ===");
@@ -79,6 +85,13 @@ public class WorkflowExecutionService {
         instance.setPreparator(preparator);
         instance.setReviewer(reviewer);
         instance.setInstructions(instructions);
+        if (RecurrenceService.isRecurring(frequency)) {
+            // First occurrence of a new series; RecurrenceService materializes the rest
+            instance.setSeriesAnchor(scheduledStart);
+            instance.setOccurrence(0);
+            instance.setNominalStart(scheduledStart);
+            instance.setNextNominalStart(RecurrenceService.occurrenceAt(scheduledStart, frequency, 1));
+        }
         
         LocalDateTime now = LocalDateTime.now();
         log.debug("Current time: {}, Scheduled start: {}", now, scheduledStart);
@@ -89,7 +102,7 @@ public class WorkflowExecutionService {
             instance.setStatus("ACTIVE");
             instance.setActualStart(now);
             
-            WorkflowInstance saved = workflowInstanceRepository.save(instance);
+            WorkflowInstance saved = saveWithSeries(instance);
             log.info("Workflow instance created with ID: {}", saved.getId());
             
             // Create the first task (start) immediately
@@ -99,58 +112,61 @@ public class WorkflowExecutionService {
         } else {
             log.info("Scheduled time is in future - Workflow will be scheduled");
             instance.setStatus("SCHEDULED");
-            WorkflowInstance saved = workflowInstanceRepository.save(instance);
+            WorkflowInstance saved = saveWithSeries(instance);
             log.info("Workflow scheduled with ID: {} - will start at {}", saved.getId(), scheduledStart);
+            
+            // Hand the start over to the in-memory timer so it fires on time
+            eventPublisher.publishEvent(new WorkflowScheduledEvent(saved.getId(), scheduledStart));
             return saved;
         }
     }
     
     /**
-     * Automatic scheduler that runs every minute to check for workflows ready to start
+     * Saves a new instance; a recurring one becomes the head of its own series, keyed by its ID
+     */
+    private WorkflowInstance saveWithSeries(WorkflowInstance instance) {
+        WorkflowInstance saved = workflowInstanceRepository.save(instance);
+        if (RecurrenceService.isRecurring(saved.getFrequency()) && saved.getSeriesId() == null) {
+            saved.setSeriesId(saved.getId());
+            saved = workflowInstanceRepository.save(saved);
+        }
+        return saved;
+    }
+    
+    /**
+     * Activates a single scheduled workflow when its start time is reached
+     * 
+     * ACTIVATION LOGIC:
+     * 1. Atomically flip status SCHEDULED -> ACTIVE and record actual start time
+     * 2. If another caller already activated it, do nothing
+     * 3. Otherwise create the start task, which creates the upload task and notifies the uploader
      * 
-     * SCHEDULER LOGIC:
-     * 1. Find all workflows with status=SCHEDULED and scheduledStart <= now
-     * 2. For each workflow: Change status to ACTIVE and record actual start time
-     * 3. Create the first upload task to begin the workflow
-     * 4. Send notification to uploader about new task
+     * Called by WorkflowStartTimer when an entry fires and by its reconciliation sweep.
+     * The conditional update makes activation idempotent, so a timer firing and a sweep
+     * racing on the same instance never create duplicate tasks.
      * 
-     * This enables workflows to be created in advance and start automatically
-     * at their designated times without manual intervention.
+     * @param instanceId ID of the scheduled workflow instance
+     * @return true if this call activated the workflow
      */
-    @Scheduled(fixedRate = 60000) // Runs every 60 seconds (1 minute)
-    public void checkScheduledWorkflows() {
-        log.debug("=== CHECKING SCHEDULED WORKFLOWS ===");
+    @Transactional
+    public boolean activateScheduledWorkflow(Long instanceId) {
         LocalDateTime now = LocalDateTime.now();
-        
-        // Find workflows that are scheduled to start before or at current time
-        List<WorkflowInstance> scheduled = workflowInstanceRepository
-            .findByScheduledStartBeforeAndStatus(now, "SCHEDULED");
-        
-        if (scheduled.isEmpty()) {
-            log.debug("No scheduled workflows ready to start at {}", now);
-            return;
+        if (workflowInstanceRepository.activateIfScheduled(instanceId, now) == 0) {
+            log.debug("Workflow {} is no longer SCHEDULED - skipping activation", instanceId);
+            return false;
         }
         
-        log.info("Found {} scheduled workflows ready to start", scheduled.size());
+        WorkflowInstance instance = workflowInstanceRepository.findById(instanceId)
+            .orElseThrow(() -> new RuntimeException("Workflow instance not found: " + instanceId));
+        log.info("Starting scheduled workflow: '{}' (ID: {})", instance.getWorkflowName(), instance.getId());
+        log.debug("Original scheduled time: {}, Starting now at: {}", instance.getScheduledStart(), now);
         
-        // Process each scheduled workflow
-        for (WorkflowInstance instance : scheduled) {
-            log.info("Starting scheduled workflow: '{}' (ID: {})", instance.getWorkflowName(), instance.getId());
-            log.debug("Original scheduled time: {}, Starting now at: {}", instance.getScheduledStart(), now);
-            
-            // Activate the workflow
-            instance.setStatus("ACTIVE");
-            instance.setActualStart(now);
-            workflowInstanceRepository.save(instance);
-            
-            // Create the first start task
-            createStartTask(instance);
-            
-            log.info("Successfully activated workflow '{}' - upload task created for user {}", 
-                    instance.getWorkflowName(), instance.getUploader());
-        }
+        // Create the first start task
+        createStartTask(instance);
         
-        log.info("Completed processing {} scheduled workflows", scheduled.size());
+        log.info("Successfully activated workflow '{}' - upload task created for user {}", 
+                instance.getWorkflowName(), instance.getUploader());
+        return true;
     }
     
     /**
@@ -239,6 +255,7 @@ public class WorkflowExecutionService {
      * @param filePath Server path where the uploaded file was saved
      * @param userComments Comments added by the uploader
      */
+    @Transactional
     public void completeUploadTask(Long taskId, String filePath, String userComments) {
         log.info("=== COMPLETING UPLOAD TASK ===");
         log.info("Task ID: {}", taskId);
@@ -334,6 +351,7 @@ public class WorkflowExecutionService {
      * @param preparedFile Server path where the prepared file was saved
      * @param userComments Comments added by the preparator
      */
+    @Transactional
     public void completePrepareTask(Long taskId, String preparedFile, String userComments) {
         log.info("=== COMPLETING PREPARE TASK ===");
         log.info("Task ID: {}", taskId);
@@ -399,18 +417,16 @@ public class WorkflowExecutionService {
         // SECURITY VALIDATION: Ensure upload task was actually completed
         // This prevents review tasks from being created without proper upload
         log.debug("Validating that upload task was completed before creating review task");
-        List<WorkflowTask> uploadTasks = workflowTaskRepository.findByWorkflowInstanceId(instance.getId())
-            .stream()
-            .filter(t -> "UPLOAD".equals(t.getTaskName()) && "COMPLETED".equals(t.getStatus()))
-            .toList();
+        long completedUploads = workflowTaskRepository.countByWorkflowInstanceIdAndTaskNameAndStatus(
+            instance.getId(), "UPLOAD", "COMPLETED");
         
-        if (uploadTasks.isEmpty()) {
+        if (completedUploads == 0) {
             log.error("SECURITY VIOLATION: Attempt to create review task without completed upload task");
             log.error("Workflow ID: {}, Instance: '{}'", instance.getId(), instance.getWorkflowName());
             throw new RuntimeException("Cannot create review task: Upload task not completed");
         }
         
-        log.info("Upload task validation passed - {} completed upload tasks found", uploadTasks.size());
+        log.info("Upload task validation passed - {} completed upload tasks found", completedUploads);
         
         // Create review task with both file references
         WorkflowTask reviewTask = new WorkflowTask();
@@ -451,6 +467,7 @@ public class WorkflowExecutionService {
      * @param decision Either "APPROVED" or "REJECTED"
      * @param message Reviewer's feedback/comments
      */
+    @Transactional
     public void completeReviewTask(Long taskId, String decision, String message) {
         log.info("=== COMPLETING REVIEW TASK ===");
         log.info("Task ID: {}", taskId);
@@ -501,6 +518,7 @@ public class WorkflowExecutionService {
             
             // WORKFLOW LOOP: Create new prepare task for rework
             log.info("Creating new PREPARE task for rework");
+            workflowMetrics.recordRework();
             createPrepareTask(instance, task.getOriginalFilePath());
             
             // Notify preparator about rejection with specific feedback
@@ -564,7 +582,7 @@ public class WorkflowExecutionService {
      * Sends a notification to a specific user
      * 
      * NOTIFICATION SYSTEM:
-     * - Creates database record for user notifications
+     * - Creates database record for user notifications, batched per transaction by NotificationWriter
      * - Notifications appear in user's dashboard dropdown
      * - Types: INFO (blue), SUCCESS (green), ERROR (red)
      * - All notifications start as unread
@@ -584,9 +602,8 @@ public class WorkflowExecutionService {
         notification.setRead(false); // All notifications start as unread
         notification.setCreatedAt(LocalDateTime.now());
         
-        // Save to database for display in user dashboard
-        Notification saved = notificationRepository.save(notification);
-        log.debug("Notification saved with ID: {} for user: {}", saved.getId(), userId);
+        // Batched with the other notifications of this transaction and inserted on commit
+        notificationWriter.write(notification);
     }
     
     /**
@@ -638,12 +655,7 @@ public class WorkflowExecutionService {
      */
     public List<WorkflowInstance> getUpcomingTasksForUser(String userId) {
         log.debug("Getting upcoming tasks for user: {}", userId);
-        List<WorkflowInstance> scheduled = workflowInstanceRepository
-            .findAll()
-            .stream()
-            .filter(w -> "SCHEDULED".equals(w.getStatus()))
-            .filter(w -> userId.equals(w.getUploader()) || userId.equals(w.getPreparator()) || userId.equals(w.getReviewer()))
-            .collect(java.util.stream.Collectors.toList());
+        List<WorkflowInstance> scheduled = workflowInstanceRepository.findScheduledForParticipant(userId);
         
         log.debug("Found {} upcoming workflows for user: {}", scheduled.size(), userId);
         return scheduled;
@@ -657,11 +669,7 @@ public class WorkflowExecutionService {
      */
     public List<WorkflowTask> getActiveTasksForUser(String userId) {
         log.debug("Getting active tasks for user: {}", userId);
-        List<WorkflowTask> activeTasks = workflowTaskRepository
-            .findByAssignee(userId)
-            .stream()
-            .filter(t -> "PENDING".equals(t.getStatus()))
-            .collect(java.util.stream.Collectors.toList());
+        List<WorkflowTask> activeTasks = workflowTaskRepository.findByAssigneeAndStatus(userId, "PENDING");
         
         log.debug("Found {} active tasks for user: {}", activeTasks.size(), userId);
         return activeTasks;
@@ -676,13 +684,7 @@ public class WorkflowExecutionService {
      */
     public List<WorkflowTask> getActiveReviewTasksForUser(String userId) {
         log.debug("Getting active review tasks for reviewer: {}", userId);
-        List<WorkflowTask> reviewTasks = workflowTaskRepository
-            .findByAssignee(userId)
-            .stream()
-            .filter(t -> "PENDING".equals(t.getStatus()))
-            .filter(t -> "REVIEW".equals(t.getTaskName()))
-            .filter(t -> t.getOriginalFilePath() != null && t.getPreparedFilePath() != null)
-            .collect(java.util.stream.Collectors.toList());
+        List<WorkflowTask> reviewTasks = workflowTaskRepository.findReviewReadyTasks(userId);
         
         log.debug("Found {} active review tasks for reviewer: {}", reviewTasks.size(), userId);
         return reviewTasks;
@@ -0,0 +1,147 @@
+package com.br.workflow_cmmn.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WorkflowMetrics - Lifecycle latency and SLA meters for the document review workflow
+ *
+ * METERS (tag planItem = humanTask definition id, unknown ids fold into "other"):
+ * - workflow.task.queue     created -> claimed (only for tasks that were claimed)
+ * - workflow.task.handling  claimed (or created) -> completed
+ * - workflow.task.due.breaches  tasks completed after their due date
+ * - workflow.case.cycle     upload task created -> review task completed
+ * - workflow.rework         review decisions that sent the document back for rework
+ * - flowable.async.job.wait       async job handed to the executor -> started on a thread
+ * - flowable.async.job.execution  async job run time on its thread
+ * - flowable.async.job.latency    async job created -> executed successfully (end to end)
+ *
+ * Timers publish percentile histograms (Prometheus buckets) and p50/p95/p99. All meters are
+ * created up front, so recording is a map lookup plus the meter update, with no registry
+ * lookups or tag allocation per event.
+ */
+@Component
+public class WorkflowMetrics {
+    public static final String OTHER = "other";
+
+    private final Map<String, StageMeters> stages = new HashMap<>();
+    private final Timer caseCycle;
+    private final Counter rework;
+    private final Counter rejected;
+    private final Timer jobWait;
+    private final Timer jobExecution;
+    private final Timer jobLatency;
+
+    public WorkflowMetrics(MeterRegistry registry,
+                           @Value("${app.metrics.plan-items:uploadHumanTask,prepareHumanTask,reviewHumanTask}") List<String> planItems) {
+        for (String planItem : planItems) {
+            stages.put(planItem, new StageMeters(registry, planItem));
+        }
+        stages.put(OTHER, new StageMeters(registry, OTHER));
+        this.caseCycle = histogram(Timer.builder("workflow.case.cycle")
+                .description("Time from upload task creation to review decision"))
+            .register(registry);
+        this.rework = Counter.builder("workflow.rework")
+            .description("Review decisions that sent the document back for rework")
+            .register(registry);
+        this.rejected = Counter.builder("workflow.rejected")
+            .description("Review decisions that rejected the document outright")
+            .register(registry);
+        this.jobWait = jobHistogram(Timer.builder("flowable.async.job.wait")
+                .description("Time an async job waited for an executor thread"))
+            .register(registry);
+        this.jobExecution = jobHistogram(Timer.builder("flowable.async.job.execution")
+                .description("Time an async job ran on its executor thread"))
+            .register(registry);
+        this.jobLatency = jobHistogram(Timer.builder("flowable.async.job.latency")
+                .description("Time from async job creation to successful execution"))
+            .register(registry);
+    }
+
+    public void recordTaskCompleted(String planItem, long createdMillis, long claimedMillis,
+                                    long dueMillis, long completedMillis) {
+        StageMeters meters = stages.getOrDefault(planItem, stages.get(OTHER));
+        long handlingStart = createdMillis;
+        if (claimedMillis > 0 && createdMillis > 0 && claimedMillis >= createdMillis) {
+            meters.queue.record(claimedMillis - createdMillis, TimeUnit.MILLISECONDS);
+            handlingStart = claimedMillis;
+        }
+        if (handlingStart > 0 && completedMillis >= handlingStart) {
+            meters.handling.record(completedMillis - handlingStart, TimeUnit.MILLISECONDS);
+        }
+        if (dueMillis > 0 && completedMillis > dueMillis) {
+            meters.dueBreaches.increment();
+        }
+    }
+
+    public void recordCaseCycle(long startedMillis, long decidedMillis) {
+        if (startedMillis > 0 && decidedMillis >= startedMillis) {
+            caseCycle.record(decidedMillis - startedMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordRework() {
+        rework.increment();
+    }
+
+    public void recordRejection() {
+        rejected.increment();
+    }
+
+    public void recordJobExecution(long waitNanos, long executionNanos) {
+        jobWait.record(waitNanos, TimeUnit.NANOSECONDS);
+        jobExecution.record(executionNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJobLatency(long createdMillis, long executedMillis) {
+        if (createdMillis > 0 && executedMillis >= createdMillis) {
+            jobLatency.record(executedMillis - createdMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Timer.Builder jobHistogram(Timer.Builder builder) {
+        return builder
+            .publishPercentileHistogram()
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofMinutes(10));
+    }
+
+    private static Timer.Builder histogram(Timer.Builder builder) {
+        return builder
+            .publishPercentileHistogram()
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .minimumExpectedValue(Duration.ofSeconds(1))
+            .maximumExpectedValue(Duration.ofDays(30));
+    }
+
+    private static final class StageMeters {
+        private final Timer queue;
+        private final Timer handling;
+        private final Counter dueBreaches;
+
+        private StageMeters(MeterRegistry registry, String planItem) {
+            this.queue = histogram(Timer.builder("workflow.task.queue")
+                    .description("Time a task waited between creation and being claimed")
+                    .tag("planItem", planItem))
+                .register(registry);
+            this.handling = histogram(Timer.builder("workflow.task.handling")
+                    .description("Time from claim (or creation) to completion")
+                    .tag("planItem", planItem))
+                .register(registry);
+            this.dueBreaches = Counter.builder("workflow.task.due.breaches")
+                .description("Tasks completed after their due date")
+                .tag("planItem", planItem)
+                .register(registry);
+        }
+    }
+}
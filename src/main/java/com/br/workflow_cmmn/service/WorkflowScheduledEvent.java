@@ -0,0 +1,9 @@
+package com.br.workflow_cmmn.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a {@code WorkflowInstance} is saved in SCHEDULED state with a future start.
+ */
+public record WorkflowScheduledEvent(Long workflowInstanceId, LocalDateTime scheduledStart) {
+}
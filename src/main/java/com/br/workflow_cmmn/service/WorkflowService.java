@@ -11,6 +11,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WorkflowService {
     private final WorkflowRepository workflowRepository;
+    private final CaseDeploymentManager caseDeploymentManager;
     
     public Workflow createWorkflow(String name, String description, String createdBy, String definition) {
         Workflow workflow = new Workflow();
@@ -20,7 +21,9 @@ public class WorkflowService {
         workflow.setStatus("ACTIVE");
         workflow.setCreatedAt(LocalDateTime.now());
         workflow.setWorkflowDefinition(definition);
-        return workflowRepository.save(workflow);
+        Workflow saved = workflowRepository.save(workflow);
+        caseDeploymentManager.deploy(saved);
+        return saved;
     }
     
     public List<Workflow> getAllWorkflows() {
@@ -0,0 +1,190 @@
+package com.br.workflow_cmmn.service;
+
+import com.br.workflow_cmmn.repository.WorkflowInstanceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WorkflowStartTimer - Fires scheduled workflow starts at their scheduled time
+ *
+ * TIMER LIFECYCLE:
+ * 1. On startup, every SCHEDULED instance (id + start time only) is loaded into a delay queue
+ * 2. New schedules arrive as {@link WorkflowScheduledEvent}s published by WorkflowExecutionService
+ * 3. A single daemon thread blocks on the queue and hands due entries to a small worker pool
+ * 4. A low-frequency sweep re-syncs the queue with the database as a safety net
+ *
+ * In a cluster every node queues all scheduled starts but only fires those whose partition
+ * it holds (see {@link SchedulerLeaseManager}); when it takes over partitions from a dead
+ * node it re-syncs immediately, so overdue starts from that node fire right away.
+ *
+ * Start latency is bounded by queue wake-up rather than a fixed polling interval, and an
+ * idle system issues no queries at all between sweeps. Activation itself is idempotent
+ * (see {@link WorkflowExecutionService#activateScheduledWorkflow}), so duplicate entries
+ * from the sweep and the event path are harmless.
+ */
+@Slf4j
+@Component
+public class WorkflowStartTimer {
+    private static final String SCHEDULED = "SCHEDULED";
+
+    private final WorkflowExecutionService workflowExecutionService;
+    private final WorkflowInstanceRepository workflowInstanceRepository;
+    private final SchedulerLeaseManager leaseManager;
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+    private final Map<Long, Entry> pending = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public WorkflowStartTimer(WorkflowExecutionService workflowExecutionService,
+                              WorkflowInstanceRepository workflowInstanceRepository,
+                              SchedulerLeaseManager leaseManager) {
+        this.workflowExecutionService = workflowExecutionService;
+        this.workflowInstanceRepository = workflowInstanceRepository;
+        this.leaseManager = leaseManager;
+        AtomicInteger workerCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "workflow-start-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = new Thread(this::dispatch, "workflow-start-timer");
+        this.dispatcher.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int loaded = reconcile();
+        dispatcher.start();
+        log.info("Workflow start timer running with {} scheduled workflows", loaded);
+    }
+
+    /**
+     * Queues a new schedule once its row is committed, so an early fire can never look up an
+     * instance that does not exist yet, and a rolled-back schedule is never queued.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkflowScheduled(WorkflowScheduledEvent event) {
+        schedule(event.workflowInstanceId(), event.scheduledStart());
+    }
+
+    @EventListener
+    public void onPartitionsAcquired(SchedulerPartitionsAcquiredEvent event) {
+        reconcile();
+    }
+
+    /**
+     * Re-syncs the queue with the database. Catches instances scheduled by another node or
+     * written directly to the table; activation is idempotent, so re-adding is safe.
+     *
+     * @return number of SCHEDULED instances found
+     */
+    @Scheduled(fixedDelayString = "${app.scheduler.reconcile-interval:PT10M}",
+               initialDelayString = "${app.scheduler.reconcile-interval:PT10M}")
+    public int reconcile() {
+        int count = 0;
+        for (WorkflowInstanceRepository.ScheduledStart start
+                : workflowInstanceRepository.findByStatusOrderByScheduledStart(SCHEDULED)) {
+            schedule(start.getId(), start.getScheduledStart());
+            count++;
+        }
+        log.debug("Reconciled workflow start timer: {} scheduled, {} queued", count, queue.size());
+        return count;
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    private void schedule(Long instanceId, LocalDateTime scheduledStart) {
+        if (instanceId == null || scheduledStart == null) {
+            return;
+        }
+        long fireAt = scheduledStart.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Entry entry = new Entry(instanceId, fireAt);
+        Entry previous = pending.put(instanceId, entry);
+        if (previous != null) {
+            if (previous.fireAt == fireAt) {
+                pending.put(instanceId, previous);
+                return;
+            }
+            queue.remove(previous);
+        }
+        queue.put(entry);
+        log.debug("Queued workflow {} to start at {}", instanceId, scheduledStart);
+    }
+
+    private void dispatch() {
+        while (running) {
+            try {
+                Entry entry = queue.take();
+                // A rescheduled instance leaves its stale entry behind; only the current one fires
+                if (!pending.remove(entry.instanceId, entry)) {
+                    continue;
+                }
+                workers.execute(() -> activate(entry.instanceId));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void activate(Long instanceId) {
+        if (!leaseManager.owns(instanceId)) {
+            // Another node owns this start; if it dies, the takeover re-sync re-queues it here
+            log.debug("Workflow {} belongs to another scheduler node - skipping", instanceId);
+            return;
+        }
+        try {
+            workflowExecutionService.activateScheduledWorkflow(instanceId);
+        } catch (Exception e) {
+            // Leave it SCHEDULED; the next reconcile sweep re-queues it
+            log.error("Failed to start scheduled workflow {}", instanceId, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        workers.shutdown();
+    }
+
+    private static final class Entry implements Delayed {
+        private final Long instanceId;
+        private final long fireAt;
+
+        private Entry(Long instanceId, long fireAt) {
+            this.instanceId = instanceId;
+            this.fireAt = fireAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(fireAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(fireAt, ((Entry) other).fireAt);
+        }
+    }
+}
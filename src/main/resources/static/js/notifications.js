@@ -0,0 +1,46 @@
+// Live dashboard updates: notifications and task arrivals pushed over SSE.
+// EventSource reconnects on its own and sends Last-Event-ID, so missed notifications are replayed.
+(function () {
+    var script = document.currentScript;
+    var userId = script && script.getAttribute('data-user-id');
+    if (!userId || !window.EventSource) {
+        return;
+    }
+
+    var menu = document.getElementById('notification-menu');
+    var count = document.getElementById('notification-count');
+    var list = document.getElementById('notification-list');
+    var source = new EventSource('/api/notifications/stream?userId=' + encodeURIComponent(userId));
+
+    source.addEventListener('notification', function (event) {
+        var notification = JSON.parse(event.data);
+        // Replay and live delivery can overlap right after a reconnect
+        if (!list || list.querySelector('[data-notification-id="' + notification.id + '"]')) {
+            return;
+        }
+        var item = document.createElement('li');
+        item.setAttribute('data-notification-id', notification.id);
+        var text = document.createElement('span');
+        text.className = 'dropdown-item-text';
+        text.textContent = notification.message;
+        item.appendChild(text);
+        list.insertBefore(item, list.firstChild);
+        count.textContent = list.children.length;
+        menu.classList.remove('d-none');
+    });
+
+    source.addEventListener('task', function () {
+        if (document.getElementById('task-arrival')) {
+            return;
+        }
+        var banner = document.createElement('div');
+        banner.id = 'task-arrival';
+        banner.className = 'alert alert-info container mt-3';
+        banner.textContent = 'New tasks have been assigned to you. ';
+        var link = document.createElement('a');
+        link.href = window.location.href;
+        link.textContent = 'Refresh';
+        banner.appendChild(link);
+        document.body.insertBefore(banner, document.body.children[1] || null);
+    });
+})();
@@ -0,0 +1,69 @@
+package com.br.workflow_cmmn.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        PageCursor cursor = new PageCursor(new Date(1_700_000_000_123L), "case-42");
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void idMayContainTheSeparator() {
+        PageCursor cursor = new PageCursor(new Date(5L), "tenant:abc:1");
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new PageCursor(new Date(Long.MAX_VALUE), "??>>??").encode();
+
+        assertThat(token).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void missingTokenMeansFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertThatThrownBy(() -> PageCursor.decode("not base64!"))
+            .isInstanceOf(IllegalArgumentException.class);
+        String noTime = Base64.getUrlEncoder().encodeToString("abc:1".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> PageCursor.decode(noTime))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pageKeepsExtraRowOutAndPointsCursorAtLastItem() {
+        List<String> rows = List.of("c", "b", "a");
+
+        CursorPage<String> page = CursorPage.of(rows, 2, id -> new PageCursor(new Date(1L), id));
+
+        assertThat(page.items()).containsExactly("c", "b");
+        assertThat(page.hasMore()).isTrue();
+        assertThat(PageCursor.decode(page.nextCursor()).id()).isEqualTo("b");
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<String> page = CursorPage.of(List.of("a"), 2, id -> new PageCursor(new Date(1L), id));
+
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+}
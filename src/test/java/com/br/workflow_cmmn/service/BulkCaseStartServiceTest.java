@@ -0,0 +1,175 @@
+package com.br.workflow_cmmn.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flowable.cmmn.api.CmmnRepositoryService;
+import org.flowable.cmmn.api.CmmnRuntimeService;
+import org.flowable.cmmn.api.repository.CaseDefinition;
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.cmmn.api.runtime.CaseInstanceBuilder;
+import org.flowable.common.engine.api.FlowableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CSV and NDJSON parsing of bulk start requests, per-line validation, and the replay of a
+ * failed batch one case per transaction.
+ */
+class BulkCaseStartServiceTest {
+    private static final String HEADER = "name,startedBy,uploader,preparator,reviewer,instructions\n";
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<Map<String, Object>> startedVariables = new ArrayList<>();
+    private BulkCaseStartService service;
+
+    @BeforeEach
+    void setUp() {
+        CmmnRepositoryService repositoryService = mock(CmmnRepositoryService.class, RETURNS_DEEP_STUBS);
+        CaseDefinition definition = mock(CaseDefinition.class);
+        when(definition.getId()).thenReturn("definition-1");
+        when(repositoryService.createCaseDefinitionQuery().caseDefinitionKey(anyString()).latestVersion().singleResult())
+            .thenReturn(definition);
+
+        // Case starts fail for any case named "bad"
+        AtomicReference<String> name = new AtomicReference<>();
+        AtomicReference<Map<String, Object>> variables = new AtomicReference<>();
+        CaseInstanceBuilder builder = mock(CaseInstanceBuilder.class);
+        when(builder.caseDefinitionId(anyString())).thenReturn(builder);
+        when(builder.name(any())).thenAnswer(invocation -> {
+            name.set(invocation.getArgument(0));
+            return builder;
+        });
+        when(builder.variables(anyMap())).thenAnswer(invocation -> {
+            variables.set(invocation.getArgument(0));
+            return builder;
+        });
+        when(builder.start()).thenAnswer(invocation -> {
+            if ("bad".equals(name.get())) {
+                throw new FlowableException("cannot start bad");
+            }
+            startedVariables.add(variables.get());
+            CaseInstance caseInstance = mock(CaseInstance.class);
+            when(caseInstance.getId()).thenReturn("case-" + name.get());
+            return caseInstance;
+        });
+        CmmnRuntimeService runtimeService = mock(CmmnRuntimeService.class);
+        when(runtimeService.createCaseInstanceBuilder()).thenReturn(builder);
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        service = new BulkCaseStartService(runtimeService, repositoryService, transactionManager,
+            new ObjectMapper(), 100, 1000);
+    }
+
+    @Test
+    void splitsQuotedFieldsWithEscapedQuotesAndCommas() {
+        assertThat(BulkCaseStartService.splitCsv("\"Case, \"\"one\"\"\",1,,\"a,b\""))
+            .containsExactly("Case, \"one\"", "1", "", "a,b");
+    }
+
+    @Test
+    void unterminatedQuoteFailsOnlyItsLine() {
+        List<BulkCaseStartService.Result> results = new ArrayList<>();
+
+        BulkCaseStartService.Summary summary = service.startAll(new StringReader(HEADER
+                + "\"broken,1,u,p,r,x\n"
+                + "fine,1,u,p,r,x\n"),
+            BulkCaseStartService.Format.CSV, null, results::add);
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).line()).isEqualTo(2);
+        assertThat(results.get(0).error()).isEqualTo("Unreadable line: unterminated quoted field");
+        assertThat(results.get(1).caseInstanceId()).isEqualTo("case-fine");
+        assertThat(summary.started()).isEqualTo(1);
+        assertThat(summary.failed()).isEqualTo(1);
+    }
+
+    @Test
+    void quotedCsvValuesReachTheCase() {
+        List<BulkCaseStartService.Result> results = new ArrayList<>();
+
+        service.startAll(new StringReader(HEADER + "\"Q3, \"\"final\"\"\",1,u,p,r,\"Check totals, then sign\"\n"),
+            BulkCaseStartService.Format.CSV, null, results::add);
+
+        assertThat(results).singleElement()
+            .satisfies(result -> assertThat(result.name()).isEqualTo("Q3, \"final\""));
+        assertThat(startedVariables).singleElement()
+            .satisfies(variables -> assertThat(variables).containsEntry("instructions", "Check totals, then sign"));
+    }
+
+    @Test
+    void headerWithoutRequiredColumnIsRejected() {
+        assertThatThrownBy(() -> service.startAll(new StringReader("name,startedBy,uploader,preparator\nx,1,u,p\n"),
+                BulkCaseStartService.Format.CSV, null, result -> { }))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("CSV header is missing column: reviewer");
+    }
+
+    @Test
+    void blankLinesAreSkippedButKeepLineNumbers() {
+        List<BulkCaseStartService.Result> results = new ArrayList<>();
+
+        BulkCaseStartService.Summary summary = service.startAll(new StringReader(HEADER + "\n  \none,1,u,p,r,\n"),
+            BulkCaseStartService.Format.CSV, null, results::add);
+
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.line()).isEqualTo(4);
+            assertThat(result.error()).isNull();
+        });
+        assertThat(summary.total()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsMissingFieldsAndSharedRoles() {
+        List<BulkCaseStartService.Result> results = new ArrayList<>();
+
+        service.startAll(new StringReader("""
+                {"name":"no-reviewer","startedBy":"1","uploader":"u","preparator":"p"}
+                {"name":"shared","startedBy":"1","uploader":"u","preparator":"u","reviewer":"r"}
+                {"name":"ok","startedBy":"1","uploader":"u","preparator":"p","reviewer":"r"}
+                """),
+            BulkCaseStartService.Format.NDJSON, null, results::add);
+
+        assertThat(results).extracting(BulkCaseStartService.Result::error).containsExactly(
+            "Missing required field: reviewer",
+            "Uploader, preparator and reviewer must be different users",
+            null);
+    }
+
+    @Test
+    void failedBatchIsReplayedSoOnlyTheBadItemFails() {
+        List<BulkCaseStartService.Result> results = new ArrayList<>();
+
+        BulkCaseStartService.Summary summary = service.startAll(new StringReader(HEADER
+                + "first,1,u,p,r,\n"
+                + "bad,1,u,p,r,\n"
+                + "last,1,u,p,r,\n"),
+            BulkCaseStartService.Format.CSV, 10, results::add);
+
+        assertThat(results).extracting(BulkCaseStartService.Result::caseInstanceId)
+            .containsExactly("case-first", null, "case-last");
+        assertThat(results.get(1).error()).isEqualTo("cannot start bad");
+        assertThat(summary.started()).isEqualTo(2);
+        assertThat(summary.failed()).isEqualTo(1);
+        // The batch and the replayed bad item roll back; the two good items commit on their own
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+}
@@ -0,0 +1,226 @@
+package com.br.workflow_cmmn.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ring ordering and capacity, the DROP and WAIT overflow policies, concurrent publishers,
+ * and the wake-up of a parked consumer.
+ */
+class CmmnEventBusTest {
+    private CmmnEventBus bus;
+
+    @AfterEach
+    void stopBus() {
+        if (bus != null) {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void ringReturnsEventsInOfferOrder() {
+        CmmnEventBus.Ring ring = new CmmnEventBus.Ring(8);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(ring.offer(event("p", i))).isTrue();
+        }
+
+        assertThat(ring.size()).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            assertThat(ring.poll().entityId()).isEqualTo("p-" + i);
+        }
+        assertThat(ring.poll()).isNull();
+        assertThat(ring.isEmpty()).isTrue();
+    }
+
+    @Test
+    void fullRingRejectsUntilConsumerFreesASlot() {
+        CmmnEventBus.Ring ring = new CmmnEventBus.Ring(5);
+
+        // Capacity is rounded up to a power of two
+        for (int i = 0; i < 8; i++) {
+            assertThat(ring.offer(event("p", i))).isTrue();
+        }
+        assertThat(ring.offer(event("p", 8))).isFalse();
+
+        assertThat(ring.poll().entityId()).isEqualTo("p-0");
+        assertThat(ring.offer(event("p", 8))).isTrue();
+        for (int i = 1; i <= 8; i++) {
+            assertThat(ring.poll().entityId()).isEqualTo("p-" + i);
+        }
+    }
+
+    @Test
+    void concurrentProducersKeepTheirOwnOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        CmmnEventBus.Ring ring = new CmmnEventBus.Ring(256);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                String producer = "p" + p;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!ring.offer(event(producer, i))) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+
+            int[] next = new int[producers];
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < producers * perProducer && System.nanoTime() < deadline) {
+                CmmnEvent event = ring.poll();
+                if (event == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                int producer = event.name().charAt(1) - '0';
+                assertThat(event.createdMillis()).isEqualTo(next[producer]);
+                next[producer]++;
+                received++;
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+
+            assertThat(received).isEqualTo(producers * perProducer);
+            assertThat(ring.poll()).isNull();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void dropPolicyDropsWhatDoesNotFitAndDeliversTheRest() throws Exception {
+        BlockingSubscriber subscriber = new BlockingSubscriber();
+        bus = start(subscriber, CmmnEventBus.OverflowPolicy.DROP, Duration.ZERO);
+
+        bus.publish(event("p", 0));
+        assertThat(subscriber.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i <= 10; i++) {
+            bus.publish(event("p", i));
+        }
+        subscriber.release.countDown();
+
+        awaitTrue(() -> stats().delivered() == 5);
+        assertThat(stats().dropped()).isEqualTo(6);
+        assertThat(subscriber.received).containsExactly("p-0", "p-1", "p-2", "p-3", "p-4");
+    }
+
+    @Test
+    void waitPolicyHoldsThePublisherUntilSpaceFrees() throws Exception {
+        BlockingSubscriber subscriber = new BlockingSubscriber();
+        bus = start(subscriber, CmmnEventBus.OverflowPolicy.WAIT, Duration.ofSeconds(5));
+
+        bus.publish(event("p", 0));
+        assertThat(subscriber.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i <= 4; i++) {
+            bus.publish(event("p", i));
+        }
+        Thread publisher = new Thread(() -> bus.publish(event("p", 5)));
+        publisher.start();
+        publisher.join(100);
+        assertThat(publisher.isAlive()).isTrue();
+
+        subscriber.release.countDown();
+        publisher.join(5_000);
+
+        assertThat(publisher.isAlive()).isFalse();
+        awaitTrue(() -> stats().delivered() == 6);
+        assertThat(stats().dropped()).isZero();
+    }
+
+    @Test
+    void waitPolicyDropsOnceMaxWaitElapses() throws Exception {
+        BlockingSubscriber subscriber = new BlockingSubscriber();
+        bus = start(subscriber, CmmnEventBus.OverflowPolicy.WAIT, Duration.ofMillis(20));
+
+        bus.publish(event("p", 0));
+        assertThat(subscriber.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i <= 5; i++) {
+            bus.publish(event("p", i));
+        }
+
+        assertThat(stats().dropped()).isEqualTo(1);
+        subscriber.release.countDown();
+        awaitTrue(() -> stats().delivered() == 5);
+    }
+
+    @Test
+    void parkedConsumerIsWokenByPublish() throws Exception {
+        BlockingSubscriber subscriber = new BlockingSubscriber();
+        subscriber.release.countDown();
+        bus = start(subscriber, CmmnEventBus.OverflowPolicy.DROP, Duration.ZERO);
+
+        // Long enough for the consumer to pass its spin and yield phases and park
+        Thread.sleep(200);
+        long publishedAt = System.nanoTime();
+        bus.publish(event("p", 0));
+
+        awaitTrue(() -> stats().delivered() == 1);
+        assertThat(Duration.ofNanos(System.nanoTime() - publishedAt)).isLessThan(Duration.ofMillis(500));
+    }
+
+    private CmmnEventBus start(CmmnEventSubscriber subscriber, CmmnEventBus.OverflowPolicy policy, Duration maxWait) {
+        CmmnEventBus started = new CmmnEventBus(List.of(subscriber), 4, policy, maxWait, Duration.ofSeconds(1));
+        started.start();
+        return started;
+    }
+
+    private CmmnEventBus.Stats stats() {
+        return bus.getStats().get(0);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static CmmnEvent event(String producer, int sequence) {
+        return new CmmnEvent("TEST", producer + "-" + sequence, null, null, producer, null,
+            sequence, 0, 0, System.nanoTime());
+    }
+
+    /** Records events, blocking inside the first one until released */
+    private static final class BlockingSubscriber implements CmmnEventSubscriber {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String getName() {
+            return "test";
+        }
+
+        @Override
+        public void onEvent(CmmnEvent event) {
+            received.add(event.entityId());
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.br.workflow_cmmn.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tie boundary of the keyset listings: rows sharing the cursor's timestamp are ordered by id
+ * descending, and only those with a lower id than the cursor belong to the next page.
+ */
+class KeysetTiesTest {
+
+    @Test
+    void takesOnlyRowsWithLowerIdThanCursor() {
+        List<String> rows = new ArrayList<>();
+
+        FlowableCmmnService.addTiesAfter(group("e", "d", "c", "b", "a"), Function.identity(), "c", 10, rows);
+
+        assertThat(rows).containsExactly("b", "a");
+    }
+
+    @Test
+    void cursorIsLastOfGroup() {
+        List<String> rows = new ArrayList<>();
+
+        FlowableCmmnService.addTiesAfter(group("c", "b", "a"), Function.identity(), "a", 10, rows);
+
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    void stopsAtWantedRowsAndReadsGroupInBoundedPages() {
+        List<String> ids = IntStream.range(0, 100).mapToObj(i -> String.format("id-%03d", i))
+            .sorted(Comparator.reverseOrder()).toList();
+        AtomicInteger largestPage = new AtomicInteger();
+        BiFunction<Integer, Integer, List<String>> page = (offset, count) -> {
+            largestPage.accumulateAndGet(count, Math::max);
+            return ids.subList(Math.min(offset, ids.size()), Math.min(offset + count, ids.size()));
+        };
+        List<String> rows = new ArrayList<>();
+
+        FlowableCmmnService.addTiesAfter(page, Function.identity(), "id-050", 6, rows);
+
+        assertThat(rows).containsExactly("id-049", "id-048", "id-047", "id-046", "id-045", "id-044");
+        assertThat(largestPage.get()).isEqualTo(6);
+    }
+
+    @Test
+    void keepsRowsAlreadyCollected() {
+        List<String> rows = new ArrayList<>(List.of("x"));
+
+        FlowableCmmnService.addTiesAfter(group("c", "b", "a"), Function.identity(), "c", 2, rows);
+
+        assertThat(rows).containsExactly("x", "b");
+    }
+
+    @Test
+    void pagesThroughTieGroupWithoutDuplicatesOrGaps() {
+        List<String> group = List.of("h", "g", "f", "e", "d", "c", "b", "a");
+        List<String> seen = new ArrayList<>();
+        String cursor = "i";
+        while (true) {
+            List<String> page = new ArrayList<>();
+            FlowableCmmnService.addTiesAfter(group(group.toArray(String[]::new)), Function.identity(), cursor, 4, page);
+            // Same contract as CursorPage: the extra row only signals that another page exists
+            List<String> items = page.subList(0, Math.min(3, page.size()));
+            seen.addAll(items);
+            if (page.size() <= 3) {
+                break;
+            }
+            cursor = items.get(items.size() - 1);
+        }
+
+        assertThat(seen).containsExactlyElementsOf(group);
+    }
+
+    private static BiFunction<Integer, Integer, List<String>> group(String... idsDescending) {
+        List<String> ids = List.of(idsDescending);
+        return (offset, count) -> ids.subList(Math.min(offset, ids.size()), Math.min(offset + count, ids.size()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.br.workflow_cmmn.benchmarks;
+
+import com.br.workflow_cmmn.service.BulkCaseStartService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Case start throughput through the bulk path; compare with {@link SingleStartBenchmark}.
+ * Every invocation starts {@link #CASES} cases, so scores read as cases per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkStartBenchmark {
+    private static final int CASES = 200;
+
+    @Param({"1", "50", "200"})
+    public int batchSize;
+
+    private String csv;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        StringBuilder builder = new StringBuilder("name,startedBy,uploader,preparator,reviewer,instructions\n");
+        for (int i = 0; i < CASES; i++) {
+            builder.append("bulk-").append(i).append(",1,").append(EngineState.UPLOADER).append(',')
+                .append(EngineState.PREPARATOR).append(',').append(EngineState.REVIEWER)
+                .append(",\"Bulk case ").append(i).append("\"\n");
+        }
+        csv = builder.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CASES)
+    public BulkCaseStartService.Summary bulkStart(EngineState engine, Blackhole blackhole) {
+        return engine.context.getBean(BulkCaseStartService.class)
+            .startAll(new StringReader(csv), BulkCaseStartService.Format.CSV, batchSize, blackhole::consume);
+    }
+}
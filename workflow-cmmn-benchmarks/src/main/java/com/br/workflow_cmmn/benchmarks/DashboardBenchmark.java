@@ -0,0 +1,57 @@
+package com.br.workflow_cmmn.benchmarks;
+
+import com.br.workflow_cmmn.repository.NotificationRepository;
+import com.br.workflow_cmmn.service.DashboardService;
+import com.br.workflow_cmmn.service.FlowableCmmnService;
+import com.br.workflow_cmmn.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin dashboard assembly: the concurrent DashboardService against the same sources
+ * called one after another, which is what the controller did before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardBenchmark {
+    private static final String ADMIN = "1";
+
+    private DashboardService dashboardService;
+    private UserService userService;
+    private FlowableCmmnService flowableCmmnService;
+    private NotificationRepository notificationRepository;
+
+    @Setup(Level.Trial)
+    public void createData(EngineState engine) {
+        for (int i = 0; i < 200; i++) {
+            engine.caseAtUpload();
+        }
+        dashboardService = engine.context.getBean(DashboardService.class);
+        userService = engine.context.getBean(UserService.class);
+        flowableCmmnService = engine.flowableCmmnService;
+        notificationRepository = engine.context.getBean(NotificationRepository.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> parallel() {
+        return dashboardService.adminDashboard(ADMIN, null, null);
+    }
+
+    @Benchmark
+    public void serial(Blackhole blackhole) {
+        blackhole.consume(userService.findById(ADMIN));
+        blackhole.consume(userService.findAll());
+        blackhole.consume(flowableCmmnService.getActiveTasksPage(null, FlowableCmmnService.DEFAULT_PAGE_SIZE));
+        blackhole.consume(flowableCmmnService.getCaseInstancesPage(null, FlowableCmmnService.DEFAULT_PAGE_SIZE));
+        blackhole.consume(flowableCmmnService.countActiveTasks());
+        blackhole.consume(flowableCmmnService.countCaseInstances());
+        blackhole.consume(notificationRepository.findTop50ByUserIdAndReadFalseOrderByIdDesc(ADMIN));
+    }
+}
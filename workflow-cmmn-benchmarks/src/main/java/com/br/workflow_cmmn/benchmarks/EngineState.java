@@ -0,0 +1,164 @@
+package com.br.workflow_cmmn.benchmarks;
+
+import com.br.workflow_cmmn.WorkflowCmmnApplication;
+import com.br.workflow_cmmn.service.FlowableCmmnService;
+import org.flowable.cmmn.api.CmmnRuntimeService;
+import org.flowable.cmmn.api.CmmnTaskService;
+import org.flowable.cmmn.api.runtime.PlanItemInstance;
+import org.flowable.task.api.Task;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Boots the full application once per trial against a private H2 database and exposes helpers
+ * to drive cases to a given stage.
+ *
+ * The database is in-memory unless {@code -Dbench.persistence=file} is given, which runs the
+ * trial on the file-backed prod profile in a temporary data directory.
+ */
+@State(Scope.Benchmark)
+public class EngineState {
+    public static final String UPLOADER = "2";
+    public static final String PREPARATOR = "3";
+    public static final String REVIEWER = "4";
+    public static final String PERSISTENCE = System.getProperty("bench.persistence", "memory");
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    public ConfigurableApplicationContext context;
+    public FlowableCmmnService flowableCmmnService;
+    public CmmnRuntimeService cmmnRuntimeService;
+    public CmmnTaskService cmmnTaskService;
+
+    private Path dataDir;
+
+    @Setup(Level.Trial)
+    public void start() {
+        dataDir = "file".equals(PERSISTENCE) ? createDataDir() : null;
+        Map<String, Object> properties = baseProperties(dataDir);
+        configure(properties);
+        context = boot(properties);
+        flowableCmmnService = context.getBean(FlowableCmmnService.class);
+        cmmnRuntimeService = context.getBean(CmmnRuntimeService.class);
+        cmmnTaskService = context.getBean(CmmnTaskService.class);
+    }
+
+    /**
+     * Properties shared by every benchmark boot.
+     *
+     * @param dataDir directory for the file-backed prod profile, or null for a private in-memory database
+     */
+    static Map<String, Object> baseProperties(Path dataDir) {
+        Map<String, Object> properties = new HashMap<>();
+        if (dataDir == null) {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        } else {
+            properties.put("spring.profiles.active", "prod");
+            properties.put("app.data-dir", dataDir.toAbsolutePath());
+        }
+        properties.put("server.port", 0);
+        properties.put("app.users.source", "file");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.br.workflow_cmmn", "WARN");
+        properties.put("logging.level.org.flowable", "WARN");
+        properties.put("spring.jpa.show-sql", false);
+        return properties;
+    }
+
+    static ConfigurableApplicationContext boot(Map<String, Object> properties) {
+        // Passed as command line arguments: default properties would lose to application.properties
+        String[] args = properties.entrySet().stream()
+            .map(property -> "--" + property.getKey() + "=" + property.getValue())
+            .toArray(String[]::new);
+        return new SpringApplicationBuilder(WorkflowCmmnApplication.class).run(args);
+    }
+
+    static Path createDataDir() {
+        try {
+            return Files.createTempDirectory("workflow-bench-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void deleteDataDir(Path dataDir) {
+        if (dataDir == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dataDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Hook for benchmark-specific application properties.
+     */
+    protected void configure(Map<String, Object> properties) {
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+        deleteDataDir(dataDir);
+    }
+
+    public String startCase() {
+        int n = sequence.incrementAndGet();
+        return flowableCmmnService.startWorkflow("bench-" + n, "1", UPLOADER, PREPARATOR, REVIEWER,
+            "Benchmark case " + n).getId();
+    }
+
+    /**
+     * Starts a case and activates its upload task (the plan item uses manual activation).
+     */
+    public Task caseAtUpload() {
+        String caseId = startCase();
+        PlanItemInstance upload = cmmnRuntimeService.createPlanItemInstanceQuery()
+            .caseInstanceId(caseId)
+            .planItemDefinitionId("uploadHumanTask")
+            .planItemInstanceStateEnabled()
+            .singleResult();
+        cmmnRuntimeService.startPlanItemInstance(upload.getId());
+        return task(caseId, "uploadHumanTask");
+    }
+
+    public Task caseAtPrepare() {
+        Task upload = caseAtUpload();
+        flowableCmmnService.completeUploadTask(upload.getId(), "uploads/bench.xlsx", "benchmark");
+        return task(upload.getScopeId(), "prepareHumanTask");
+    }
+
+    public Task caseAtReview() {
+        Task prepare = caseAtPrepare();
+        flowableCmmnService.completePrepareTask(prepare.getId(), "uploads/bench-prepared.xlsx", "benchmark");
+        return task(prepare.getScopeId(), "reviewHumanTask");
+    }
+
+    public Task task(String caseId, String definitionKey) {
+        return cmmnTaskService.createTaskQuery()
+            .caseInstanceId(caseId)
+            .taskDefinitionKey(definitionKey)
+            .singleResult();
+    }
+}
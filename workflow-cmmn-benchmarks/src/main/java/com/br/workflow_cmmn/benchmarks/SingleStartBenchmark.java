@@ -0,0 +1,22 @@
+package com.br.workflow_cmmn.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline for {@link BulkStartBenchmark}: one {@code startWorkflow} call, and so one
+ * transaction, per case. Scores read as cases per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SingleStartBenchmark {
+
+    @Benchmark
+    public String singleStart(EngineState engine) {
+        return engine.startCase();
+    }
+}
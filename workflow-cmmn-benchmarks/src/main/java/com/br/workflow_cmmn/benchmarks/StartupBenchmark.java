@@ -0,0 +1,46 @@
+package com.br.workflow_cmmn.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application startup time for the in-memory default and the file-backed prod profile.
+ * Each measured start boots the full context and closes it again; in file mode the schema
+ * and sample data are created once during setup, so measured starts reuse the existing
+ * database instead of rebuilding it.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+    @Param({"memory", "file"})
+    public String persistence;
+
+    private Path dataDir;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        if ("file".equals(persistence)) {
+            dataDir = EngineState.createDataDir();
+            EngineState.boot(EngineState.baseProperties(dataDir)).close();
+        }
+    }
+
+    @Benchmark
+    public void start() {
+        try (ConfigurableApplicationContext context = EngineState.boot(EngineState.baseProperties(dataDir))) {
+            context.getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() {
+        EngineState.deleteDataDir(dataDir);
+    }
+}
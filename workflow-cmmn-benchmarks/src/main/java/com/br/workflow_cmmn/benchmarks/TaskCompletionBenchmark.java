@@ -0,0 +1,79 @@
+package com.br.workflow_cmmn.benchmarks;
+
+import org.flowable.task.api.Task;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each completion step. Every invocation gets a fresh case already at the measured
+ * stage; per-invocation setup is acceptable here because completions take milliseconds.
+ *
+ * {@code completeReviewTaskQueryThenComplete} replays the former completion path (task query,
+ * then {@code complete}, which fetches the task again) as a baseline for the single-command path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskCompletionBenchmark {
+
+    @State(Scope.Thread)
+    public static class UploadStage {
+        Task task;
+
+        @Setup(Level.Invocation)
+        public void prepare(EngineState engine) {
+            task = engine.caseAtUpload();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PrepareStage {
+        Task task;
+
+        @Setup(Level.Invocation)
+        public void prepare(EngineState engine) {
+            task = engine.caseAtPrepare();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ReviewStage {
+        Task task;
+
+        @Setup(Level.Invocation)
+        public void prepare(EngineState engine) {
+            task = engine.caseAtReview();
+        }
+    }
+
+    @Benchmark
+    public void completeUploadTask(EngineState engine, UploadStage stage) {
+        engine.flowableCmmnService.completeUploadTask(stage.task.getId(), "uploads/bench.xlsx", "benchmark");
+    }
+
+    @Benchmark
+    public void completePrepareTask(EngineState engine, PrepareStage stage) {
+        engine.flowableCmmnService.completePrepareTask(stage.task.getId(), "uploads/bench-prepared.xlsx", "benchmark");
+    }
+
+    @Benchmark
+    public void completeReviewTask(EngineState engine, ReviewStage stage) {
+        engine.flowableCmmnService.completeReviewTask(stage.task.getId(), true, "approved");
+    }
+
+    @Benchmark
+    public void completeReviewTaskQueryThenComplete(EngineState engine, ReviewStage stage) {
+        new TransactionTemplate(engine.context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            Task task = engine.cmmnTaskService.createTaskQuery().taskId(stage.task.getId()).singleResult();
+            engine.cmmnTaskService.complete(task.getId(), Map.of(
+                "approved", true, "reviewComments", "approved", "reviewCompleted", true,
+                "needsRework", false, "status", "COMPLETED"));
+        });
+    }
+}
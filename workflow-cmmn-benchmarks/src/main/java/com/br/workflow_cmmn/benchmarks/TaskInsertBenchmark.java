@@ -0,0 +1,69 @@
+package com.br.workflow_cmmn.benchmarks;
+
+import com.br.workflow_cmmn.model.WorkflowTask;
+import com.br.workflow_cmmn.repository.WorkflowTaskRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legacy task rows inserted per second, {@link #ROWS} per transaction. A JDBC batch size of 1
+ * sends one INSERT round trip per row, which is what the former IDENTITY ids forced; 50 is the
+ * configured batch size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskInsertBenchmark {
+    private static final int ROWS = 500;
+
+    @State(Scope.Benchmark)
+    public static class BatchingEngine extends EngineState {
+        @Param({"1", "50"})
+        public int jdbcBatchSize;
+
+        TransactionTemplate transactionTemplate;
+        WorkflowTaskRepository workflowTaskRepository;
+
+        @Override
+        protected void configure(Map<String, Object> properties) {
+            properties.put("spring.jpa.properties.hibernate.jdbc.batch_size", jdbcBatchSize);
+        }
+
+        @Setup(Level.Trial)
+        public void lookUpBeans() {
+            transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            workflowTaskRepository = context.getBean(WorkflowTaskRepository.class);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<WorkflowTask> insertTasks(BatchingEngine engine) {
+        return engine.transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<WorkflowTask> tasks = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                WorkflowTask task = new WorkflowTask();
+                task.setTaskName("UPLOAD");
+                task.setAssignee(EngineState.UPLOADER);
+                task.setStatus("PENDING");
+                task.setWorkflowInstanceId((long) i);
+                task.setInstructions("Benchmark row " + i);
+                task.setCreatedAt(now);
+                task.setStartDate(now);
+                task.setEndDate(now.plusDays(1));
+                tasks.add(task);
+            }
+            return engine.workflowTaskRepository.saveAll(tasks);
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package com.br.workflow_cmmn.benchmarks;
+
+import org.flowable.task.api.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task list queries as the number of open tasks for the user grows. Compares the unbounded
+ * list used by older endpoints with the keyset-paginated first page used by dashboards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskQueryBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int taskCount;
+
+    @Setup(Level.Trial)
+    public void createTasks(EngineState engine) {
+        for (int i = 0; i < taskCount; i++) {
+            engine.caseAtUpload();
+        }
+    }
+
+    @Benchmark
+    public List<Task> getTasksForUser(EngineState engine) {
+        return engine.flowableCmmnService.getTasksForUser(EngineState.UPLOADER);
+    }
+
+    @Benchmark
+    public Object getTasksForUserFirstPage(EngineState engine) {
+        return engine.flowableCmmnService.getTasksForUserPage(EngineState.UPLOADER, null, 25);
+    }
+}
@@ -0,0 +1,21 @@
+package com.br.workflow_cmmn.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of starting a document review case (case instance, variables, plan item evaluation).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkflowStartBenchmark {
+
+    @Benchmark
+    public String startWorkflow(EngineState engine) {
+        return engine.startCase();
+    }
+}
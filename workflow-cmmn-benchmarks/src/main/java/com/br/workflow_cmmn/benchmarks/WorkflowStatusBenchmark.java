@@ -0,0 +1,49 @@
+package com.br.workflow_cmmn.benchmarks;
+
+import com.br.workflow_cmmn.model.CaseStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status lookup for cases in the middle of their lifecycle (prepare stage open): one case with
+ * the default projection or all variables, and a batch of {@link #BATCH} cases in one call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkflowStatusBenchmark {
+    private static final int BATCH = 50;
+
+    private String caseId;
+    private final List<String> caseIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void createCases(EngineState engine) {
+        caseId = engine.caseAtPrepare().getScopeId();
+        for (int i = 0; i < BATCH; i++) {
+            caseIds.add(engine.caseAtPrepare().getScopeId());
+        }
+    }
+
+    @Benchmark
+    public CaseStatus getWorkflowStatus(EngineState engine) {
+        return engine.flowableCmmnService.getWorkflowStatus(caseId);
+    }
+
+    @Benchmark
+    public CaseStatus getWorkflowStatusAllVariables(EngineState engine) {
+        return engine.flowableCmmnService.getWorkflowStatus(caseId, List.of("*"));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<CaseStatus> getWorkflowStatusesBatch(EngineState engine) {
+        return engine.flowableCmmnService.getWorkflowStatuses(caseIds, null);
+    }
+}
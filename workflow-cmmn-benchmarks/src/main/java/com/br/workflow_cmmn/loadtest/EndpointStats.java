@@ -0,0 +1,50 @@
+package com.br.workflow_cmmn.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency samples and error count for one endpoint. Samples are kept in full (a load run
+ * produces at most a few hundred thousand), so percentiles are exact.
+ */
+final class EndpointStats {
+    private final String name;
+    private final LongAdder errors = new LongAdder();
+    private long[] samples = new long[1024];
+    private int count;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    synchronized Summary summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(name, count, errors.sum(), count / elapsedSeconds,
+            millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99),
+            count > 0 ? sorted[count - 1] / 1e6 : 0);
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    record Summary(String endpoint, long requests, long errors, double throughput,
+                   double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+    }
+}
@@ -0,0 +1,365 @@
+package com.br.workflow_cmmn.loadtest;
+
+import com.br.workflow_cmmn.WorkflowCmmnApplication;
+import com.br.workflow_cmmn.model.User;
+import com.br.workflow_cmmn.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.flowable.cmmn.api.CmmnRuntimeService;
+import org.flowable.cmmn.api.CmmnTaskService;
+import org.flowable.cmmn.api.runtime.PlanItemInstance;
+import org.flowable.task.api.Task;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LoadTestRunner - End-to-end load generator for the document review workflow
+ *
+ * RUN:
+ * mvn -P load-test verify [-Dload.uploaders=20 -Dload.preparators=20 -Dload.reviewers=20
+ *     -Dload.admins=2 -Dload.duration=PT5M -Dload.ramp-up=PT30S -Dload.think-time=PT3S
+ *     -Dload.rejection-rate=0.2 -Dload.upload-size=256KB]
+ *
+ * SIMULATION:
+ * - Boots the app on a random port with a private H2 database and a local stub in place
+ *   of the upstream user directory; populations are taken from UserService's role mapping
+ * - Admins start workflows (POST /workflow/start); uploaders, preparators and reviewers poll
+ *   for their own open task and complete it (POST /task/upload|prepare|review/{id}), then
+ *   load their dashboard like the browser does after the redirect
+ * - Every virtual user waits an exponentially distributed think time between actions;
+ *   reviewers reject (asking for rework) with the configured probability
+ *
+ * Task discovery and the manual activation of the upload plan item happen in-process and
+ * are not measured; only HTTP calls are timed. Results per endpoint (throughput, p50/p90/p99,
+ * max, errors) are printed and written to target/load-test-result.json.
+ *
+ * The shared connection pool is sampled every 100 ms; its peak active and waiting counts,
+ * acquire times and leak reports are printed after the endpoint table as input for sizing
+ * spring.datasource.hikari.maximum-pool-size.
+ */
+public final class LoadTestRunner {
+    private static final String RESULT_FILE = "target/load-test-result.json";
+    private static final long POOL_SAMPLE_MILLIS = 100;
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final HttpClient http = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    private final int uploaders = Integer.getInteger("load.uploaders", 20);
+    private final int preparators = Integer.getInteger("load.preparators", 20);
+    private final int reviewers = Integer.getInteger("load.reviewers", 20);
+    private final int admins = Integer.getInteger("load.admins", 2);
+    private final Duration duration = Duration.parse(System.getProperty("load.duration", "PT5M"));
+    private final Duration rampUp = Duration.parse(System.getProperty("load.ramp-up", "PT30S"));
+    private final Duration thinkTime = Duration.parse(System.getProperty("load.think-time", "PT3S"));
+    private final double rejectionRate = Double.parseDouble(System.getProperty("load.rejection-rate", "0.2"));
+    private final int uploadBytes = parseSize(System.getProperty("load.upload-size", "256KB"));
+
+    private String baseUrl;
+    private CmmnRuntimeService cmmnRuntimeService;
+    private CmmnTaskService cmmnTaskService;
+    private volatile boolean running = true;
+    private final AtomicInteger peakActiveConnections = new AtomicInteger();
+    private final AtomicInteger peakWaitingThreads = new AtomicInteger();
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestRunner().run();
+    }
+
+    private void run() throws Exception {
+        // The id-based role mapping cycles through four roles, so this covers every population
+        int directorySize = 4 * Math.max(Math.max(uploaders, preparators), Math.max(reviewers, admins)) + 4;
+        Path uploadDir = Files.createTempDirectory("load-test-uploads");
+
+        try (UserDirectoryStub directory = new UserDirectoryStub(directorySize);
+             ConfigurableApplicationContext context = startApplication(directory, uploadDir)) {
+            baseUrl = "http://127.0.0.1:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            cmmnRuntimeService = context.getBean(CmmnRuntimeService.class);
+            cmmnTaskService = context.getBean(CmmnTaskService.class);
+            UserService userService = context.getBean(UserService.class);
+
+            List<String> adminIds = ids(userService.findByRole("ADMIN"), admins);
+            List<String> uploaderIds = ids(userService.findByRole("UPLOADER"), uploaders);
+            List<String> preparatorIds = ids(userService.findByRole("PREPARATOR"), preparators);
+            List<String> reviewerIds = ids(userService.findByRole("REVIEWER"), reviewers);
+            System.out.printf("Simulating %d admins, %d uploaders, %d preparators, %d reviewers for %s%n",
+                adminIds.size(), uploaderIds.size(), preparatorIds.size(), reviewerIds.size(), duration);
+
+            List<Runnable> virtualUsers = new ArrayList<>();
+            adminIds.forEach(id -> virtualUsers.add(() -> adminLoop(id, uploaderIds, preparatorIds, reviewerIds)));
+            uploaderIds.forEach(id -> virtualUsers.add(() -> taskLoop(id, "uploadHumanTask", "upload", "uploader")));
+            preparatorIds.forEach(id -> virtualUsers.add(() -> taskLoop(id, "prepareHumanTask", "prepare", "preparator")));
+            reviewerIds.forEach(id -> virtualUsers.add(() -> taskLoop(id, "reviewHumanTask", "review", "reviewer")));
+            Collections.shuffle(virtualUsers);
+
+            HikariPoolMXBean pool = context.getBean(HikariDataSource.class).getHikariPoolMXBean();
+            ScheduledExecutorService poolSampler = Executors.newSingleThreadScheduledExecutor();
+            poolSampler.scheduleAtFixedRate(() -> {
+                peakActiveConnections.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                peakWaitingThreads.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+            }, 0, POOL_SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+
+            ExecutorService executor = Executors.newFixedThreadPool(virtualUsers.size());
+            long rampStepNanos = virtualUsers.isEmpty() ? 0 : rampUp.toNanos() / virtualUsers.size();
+            long started = System.nanoTime();
+            for (Runnable user : virtualUsers) {
+                executor.execute(user);
+                TimeUnit.NANOSECONDS.sleep(rampStepNanos);
+            }
+
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, duration.toNanos() - (System.nanoTime() - started)));
+            running = false;
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+            poolSampler.shutdownNow();
+            report((System.nanoTime() - started) / 1e9);
+            reportPool(context.getBean(HikariDataSource.class), context.getBean(MeterRegistry.class));
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(UserDirectoryStub directory, Path uploadDir) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:load-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        properties.put("app.users.source", "remote");
+        properties.put("app.users.remote-base-url", directory.baseUrl());
+        properties.put("app.storage.upload-dir", uploadDir.toString());
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.br.workflow_cmmn", "WARN");
+        properties.put("logging.level.org.flowable", "WARN");
+        properties.put("spring.jpa.show-sql", false);
+
+        // Passed as command line arguments: default properties would lose to application.properties
+        String[] args = properties.entrySet().stream()
+            .map(property -> "--" + property.getKey() + "=" + property.getValue())
+            .toArray(String[]::new);
+        return new SpringApplicationBuilder(WorkflowCmmnApplication.class).run(args);
+    }
+
+    private void adminLoop(String adminId, List<String> uploaderIds, List<String> preparatorIds, List<String> reviewerIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int sequence = 0;
+        while (running) {
+            String uploader = uploaderIds.get(random.nextInt(uploaderIds.size()));
+            Map<String, String> form = new LinkedHashMap<>();
+            form.put("name", "load-" + adminId + "-" + (++sequence));
+            form.put("startedBy", adminId);
+            form.put("uploader", uploader);
+            form.put("preparator", preparatorIds.get(random.nextInt(preparatorIds.size())));
+            form.put("reviewer", reviewerIds.get(random.nextInt(reviewerIds.size())));
+            form.put("instructions", "Generated by the load test");
+            if (post("workflow/start", "/workflow/start", formBody(form), "application/x-www-form-urlencoded")) {
+                activateUploads(uploader);
+                get("dashboard", "/dashboard/admin?userId=" + adminId);
+            }
+            think();
+        }
+    }
+
+    private void taskLoop(String userId, String definitionKey, String action, String dashboard) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            Task task = cmmnTaskService.createTaskQuery()
+                .taskAssignee(userId)
+                .taskDefinitionKey(definitionKey)
+                .orderByTaskCreateTime().asc()
+                .listPage(0, 1)
+                .stream().findFirst().orElse(null);
+            if (task == null) {
+                think();
+                continue;
+            }
+
+            String path = "/task/" + action + "/" + task.getId();
+            boolean ok;
+            if ("review".equals(action)) {
+                boolean reject = random.nextDouble() < rejectionRate;
+                Map<String, String> form = new LinkedHashMap<>();
+                form.put("decision", reject ? "REJECTED" : "APPROVED");
+                form.put("message", reject ? "Please rework the totals" : "Looks good");
+                form.put("userId", userId);
+                ok = post("task/review", path, formBody(form), "application/x-www-form-urlencoded");
+            } else {
+                String boundary = "----load" + UUID.randomUUID();
+                ok = post("task/" + action, path, multipartBody(boundary, userId, action + ".xlsx"),
+                    "multipart/form-data; boundary=" + boundary);
+            }
+            if (ok) {
+                get("dashboard", "/dashboard/" + dashboard + "?userId=" + userId);
+            }
+            think();
+        }
+    }
+
+    /**
+     * The upload plan item uses manual activation; do what the uploader's "start" click would.
+     */
+    private void activateUploads(String uploader) {
+        for (PlanItemInstance planItem : cmmnRuntimeService.createPlanItemInstanceQuery()
+                .planItemDefinitionId("uploadHumanTask")
+                .planItemInstanceStateEnabled()
+                .list()) {
+            try {
+                cmmnRuntimeService.startPlanItemInstance(planItem.getId());
+            } catch (RuntimeException e) {
+                // Another admin thread activated it first
+            }
+        }
+    }
+
+    private boolean post(String endpoint, String path, byte[] body, String contentType) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", contentType)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+        return send(endpoint, request);
+    }
+
+    private void get(String endpoint, String path) {
+        send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build());
+    }
+
+    private boolean send(String endpoint, HttpRequest request) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            endpointStats.record(System.nanoTime() - start);
+            // Form endpoints report failures through the redirect target
+            String location = response.headers().firstValue("Location").orElse("");
+            boolean ok = response.statusCode() < 400 && !location.contains("error=");
+            if (!ok) {
+                endpointStats.error();
+            }
+            return ok;
+        } catch (IOException e) {
+            endpointStats.error();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return false;
+        }
+    }
+
+    private void think() {
+        long mean = thinkTime.toMillis();
+        if (mean <= 0 || !running) {
+            return;
+        }
+        long pause = (long) (-mean * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+        try {
+            Thread.sleep(Math.min(pause, mean * 10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private byte[] multipartBody(String boundary, String userId, String fileName) {
+        byte[] content = new byte[uploadBytes];
+        ThreadLocalRandom.current().nextBytes(content);
+        String head = "--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"userId\"\r\n\r\n" + userId + "\r\n"
+            + "--" + boundary + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+            + "Content-Type: application/vnd.openxmlformats-officedocument.spreadsheetml.sheet\r\n\r\n";
+        String tail = "\r\n--" + boundary + "--\r\n";
+        byte[] headBytes = head.getBytes(StandardCharsets.UTF_8);
+        byte[] tailBytes = tail.getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[headBytes.length + content.length + tailBytes.length];
+        System.arraycopy(headBytes, 0, body, 0, headBytes.length);
+        System.arraycopy(content, 0, body, headBytes.length, content.length);
+        System.arraycopy(tailBytes, 0, body, headBytes.length + content.length, tailBytes.length);
+        return body;
+    }
+
+    private static byte[] formBody(Map<String, String> form) {
+        StringJoiner body = new StringJoiner("&");
+        form.forEach((key, value) -> body.add(URLEncoder.encode(key, StandardCharsets.UTF_8) + "="
+            + URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void report(double elapsedSeconds) throws IOException {
+        List<EndpointStats.Summary> summaries = stats.values().stream()
+            .map(endpointStats -> endpointStats.summarize(elapsedSeconds))
+            .sorted(Comparator.comparing(EndpointStats.Summary::endpoint))
+            .toList();
+
+        System.out.printf("%n%-16s %9s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (EndpointStats.Summary summary : summaries) {
+            System.out.printf("%-16s %9d %7d %9.2f %9.1f %9.1f %9.1f %9.1f%n",
+                summary.endpoint(), summary.requests(), summary.errors(), summary.throughput(),
+                summary.p50Millis(), summary.p90Millis(), summary.p99Millis(), summary.maxMillis());
+        }
+
+        Path result = Paths.get(RESULT_FILE);
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result.toFile(), summaries);
+        System.out.println("\nResults written to " + result.toAbsolutePath());
+    }
+
+    private void reportPool(HikariDataSource dataSource, MeterRegistry registry) {
+        Timer acquire = registry.find("hikaricp.connections.acquire").timer();
+        Counter leaks = registry.find("hikaricp.connections.leaks").counter();
+        Timer usage = registry.find("hikaricp.connections.usage").timer();
+
+        System.out.printf("%nConnection pool '%s': max %d, peak active %d, peak waiting threads %d%n",
+            dataSource.getPoolName(), dataSource.getMaximumPoolSize(), peakActiveConnections.get(), peakWaitingThreads.get());
+        if (acquire != null) {
+            System.out.printf("  acquire: mean %.2f ms, max %.2f ms%n",
+                acquire.mean(TimeUnit.MILLISECONDS), acquire.max(TimeUnit.MILLISECONDS));
+        }
+        if (usage != null) {
+            System.out.printf("  held:    mean %.2f ms, max %.2f ms%n",
+                usage.mean(TimeUnit.MILLISECONDS), usage.max(TimeUnit.MILLISECONDS));
+        }
+        System.out.printf("  leak reports: %.0f%n", leaks != null ? leaks.count() : 0.0);
+        if (peakWaitingThreads.get() > 0) {
+            System.out.println("  Threads waited for connections: the pool limited throughput at this load");
+        } else if (peakActiveConnections.get() < dataSource.getMaximumPoolSize() / 2) {
+            System.out.println("  Peak use stayed below half the pool: it can be smaller at this load");
+        }
+    }
+
+    private static List<String> ids(List<User> users, int limit) {
+        return users.stream().map(User::getId).limit(limit).toList();
+    }
+
+    private static int parseSize(String size) {
+        String normalized = size.trim().toUpperCase(Locale.ROOT);
+        if (normalized.endsWith("KB")) {
+            return Integer.parseInt(normalized.substring(0, normalized.length() - 2)) * 1024;
+        }
+        if (normalized.endsWith("MB")) {
+            return Integer.parseInt(normalized.substring(0, normalized.length() - 2)) * 1024 * 1024;
+        }
+        return Integer.parseInt(normalized);
+    }
+}
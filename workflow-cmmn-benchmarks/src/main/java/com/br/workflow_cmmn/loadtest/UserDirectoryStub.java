@@ -0,0 +1,51 @@
+package com.br.workflow_cmmn.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Local stand-in for the upstream user directory. Serves {@code GET /users} in the same shape
+ * as the remote API; roles are then assigned by the app's own id-based role mapping.
+ */
+final class UserDirectoryStub implements AutoCloseable {
+    private final HttpServer server;
+
+    UserDirectoryStub(int userCount) throws IOException {
+        byte[] body = usersJson(userCount).getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/users", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static String usersJson(int userCount) {
+        StringBuilder json = new StringBuilder("[");
+        for (int id = 1; id <= userCount; id++) {
+            if (id > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(id)
+                .append("\",\"name\":\"Load User ").append(id)
+                .append("\",\"email\":\"load").append(id).append("@example.com\"}");
+        }
+        return json.append(']').toString();
+    }
+}